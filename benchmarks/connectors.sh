@@ -0,0 +1,25 @@
+#!/usr/bin/env sh
+# Compares the embedded servers on the listing endpoint: Tomcat and Jetty, each over HTTP/1.1 with keep-alive and over
+# h2c, with the connector settings of the server profile. Each combination is one perfTest run (see README "Load Tests");
+# reports are written to build/reports/perf/connectors-<server>-http<version>.txt and summarized at the end.
+#   sh benchmarks/connectors.sh
+#   USERS=200 DURATION=120 sh benchmarks/connectors.sh
+set -eu
+
+USERS=${USERS:-100}
+WARMUP=${WARMUP:-15}
+DURATION=${DURATION:-60}
+REPORTS=build/reports/perf
+
+for server in tomcat jetty; do
+    for http in 1.1 2; do
+        ./gradlew perfTest -Pserver="$server" -Dperf.scenarios=list -Dperf.http="$http" \
+            -Dperf.users="$USERS" -Dperf.warmup="$WARMUP" -Dperf.duration="$DURATION" \
+            -Dperf.report="connectors-$server-http$http"
+    done
+done
+
+for report in "$REPORTS"/connectors-*.txt; do
+    echo "== $(basename "$report" .txt)"
+    grep -E '^(scenario|total)' "$report"
+done
@@ -0,0 +1,36 @@
+#!/usr/bin/env sh
+# Starts the service with the given command, waits until /actuator/health is UP and prints the time it took and the
+# resident set size at that point. Needs the database from compose.yaml (docker compose up -d postgres).
+#   sh benchmarks/footprint.sh java -jar build/libs/complaints-api-0.0.1-SNAPSHOT.jar
+#   sh benchmarks/footprint.sh build/native/nativeCompile/complaints-api
+# With RESULTS=<file>, the result is also appended to that file together with the command, CPU and kernel.
+set -eu
+
+# A throwaway signing key, the application refuses to start without one
+export JWT_SECRET=${JWT_SECRET:-$(head -c 32 /dev/urandom | base64)}
+
+PORT=${PORT:-8080}
+LOG=${LOG:-build/footprint.log}
+mkdir -p "$(dirname "$LOG")"
+
+begin=$(date +%s%N)
+SPRING_PROFILES_ACTIVE=${SPRING_PROFILES_ACTIVE:-prod} SERVER_PORT=$PORT "$@" > "$LOG" 2>&1 &
+pid=$!
+trap 'kill "$pid" 2>/dev/null || true' EXIT
+
+until curl -fs "http://localhost:$PORT/actuator/health" | grep -q '"UP"'; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+        echo "Application exited, see $LOG" >&2
+        exit 1
+    fi
+    sleep 0.05
+done
+end=$(date +%s%N)
+
+rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+result="startup: $(((end - begin) / 1000000)) ms, rss: $((rss / 1024)) MB"
+echo "$result"
+if [ -n "${RESULTS:-}" ]; then
+    cpu=$(awk -F': ' '/model name/ {print $2; exit}' /proc/cpuinfo)
+    printf '| %s | %s | %s | %s | %s |\n' "$(date +%Y-%m-%d)" "$*" "$cpu, $(nproc) cores" "$(uname -r)" "$result" >> "$RESULTS"
+fi
@@ -0,0 +1,113 @@
+-- Compares an unpartitioned and a monthly-partitioned complaints table on a generated dataset.
+-- Runs in a scratch schema and leaves the application tables untouched:
+--   psql -h localhost -p 5433 -U postgres -d complaints -v rows=5000000 -f benchmarks/partitioning.sql
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+\set rows 5000000
+\endif
+\timing on
+
+DROP SCHEMA IF EXISTS bench CASCADE;
+CREATE SCHEMA bench;
+SET search_path TO bench;
+
+CREATE TABLE complaints_flat
+(
+    id          BIGINT  NOT NULL,
+    product_id  BIGINT  NOT NULL,
+    customer_id BIGINT  NOT NULL,
+    date        DATE    NOT NULL,
+    description TEXT    NOT NULL,
+    status      VARCHAR NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE complaints_part
+(
+    LIKE complaints_flat INCLUDING DEFAULTS,
+    PRIMARY KEY (id, date)
+) PARTITION BY RANGE (date);
+
+DO
+$$
+    DECLARE
+        current_month DATE := date_trunc('month', CURRENT_DATE - INTERVAL '5 years')::DATE;
+    BEGIN
+        WHILE current_month <= CURRENT_DATE
+            LOOP
+                EXECUTE format('CREATE TABLE bench.%I PARTITION OF bench.complaints_part FOR VALUES FROM (%L) TO (%L)',
+                               'complaints_part_' || to_char(current_month, 'YYYYMM'), current_month,
+                               (current_month + INTERVAL '1 month')::DATE);
+                current_month := (current_month + INTERVAL '1 month')::DATE;
+            END LOOP;
+    END;
+$$;
+
+\echo 'Loading' :rows 'rows spread over five years'
+INSERT INTO complaints_flat
+SELECT g,
+       100 + (random() * 1000)::INT,
+       1 + (random() * 100000)::INT,
+       CURRENT_DATE - (random() * 5 * 365)::INT,
+       'Generated complaint ' || g,
+       (ARRAY ['OPEN', 'IN_PROGRESS', 'REJECTED', 'ACCEPTED', 'CANCELED'])[1 + (random() * 4)::INT]
+FROM generate_series(1, :rows) g;
+
+INSERT INTO complaints_part SELECT * FROM complaints_flat;
+
+CREATE INDEX ON complaints_flat (date, id);
+CREATE INDEX ON complaints_part (date, id);
+VACUUM ANALYZE complaints_flat;
+VACUUM ANALYZE complaints_part;
+
+\echo '--- One month date-range count'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*) FROM complaints_flat
+WHERE date BETWEEN date_trunc('month', CURRENT_DATE - INTERVAL '1 year')::DATE
+          AND (date_trunc('month', CURRENT_DATE - INTERVAL '1 year') + INTERVAL '1 month - 1 day')::DATE;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*) FROM complaints_part
+WHERE date BETWEEN date_trunc('month', CURRENT_DATE - INTERVAL '1 year')::DATE
+          AND (date_trunc('month', CURRENT_DATE - INTERVAL '1 year') + INTERVAL '1 month - 1 day')::DATE;
+
+\echo '--- Listing page within a date range'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM complaints_flat
+WHERE date >= (CURRENT_DATE - INTERVAL '90 days')::DATE
+ORDER BY date, id
+LIMIT 100 OFFSET 1000;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM complaints_part
+WHERE date >= (CURRENT_DATE - INTERVAL '90 days')::DATE
+ORDER BY date, id
+LIMIT 100 OFFSET 1000;
+
+\echo '--- Vacuum after churning the most recent month'
+UPDATE complaints_flat SET status = 'CANCELED' WHERE date >= date_trunc('month', CURRENT_DATE)::DATE;
+UPDATE complaints_part SET status = 'CANCELED' WHERE date >= date_trunc('month', CURRENT_DATE)::DATE;
+VACUUM (VERBOSE) complaints_flat;
+VACUUM (VERBOSE) complaints_part;
+
+\echo '--- Dropping a year of history'
+DELETE FROM complaints_flat WHERE date < (CURRENT_DATE - INTERVAL '4 years')::DATE;
+DO
+$$
+    DECLARE
+        partition_name TEXT;
+    BEGIN
+        FOR partition_name IN
+            SELECT child.relname
+            FROM pg_inherits
+                     JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+                     JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+            WHERE parent.relname = 'complaints_part'
+              AND to_date(substring(child.relname FROM 17), 'YYYYMM') < (CURRENT_DATE - INTERVAL '4 years' - INTERVAL '1 month')
+            LOOP
+                EXECUTE format('DROP TABLE bench.%I', partition_name);
+            END LOOP;
+    END;
+$$;
+VACUUM (VERBOSE) complaints_flat;
+
+DROP SCHEMA bench CASCADE;
@@ -0,0 +1,49 @@
+#!/usr/bin/env sh
+# Measures startup time of the packaged application with the prod profile, each mode averaged over RUNS starts.
+# The application is started with spring.context.exit=onRefresh, so a run ends as soon as the context is ready.
+# Needs the database from compose.yaml (docker compose up -d postgres). Normally run through Gradle:
+#   ./gradlew startupBenchmark
+#   sh benchmarks/startup.sh build/libs/complaints-api-0.0.1-SNAPSHOT.jar
+set -eu
+
+# A throwaway signing key, the application refuses to start without one
+export JWT_SECRET=${JWT_SECRET:-$(head -c 32 /dev/urandom | base64)}
+
+JAR=$1
+RUNS=${RUNS:-5}
+WORK=${WORK:-build/startup-benchmark}
+
+rm -rf "$WORK"
+mkdir -p "$WORK"
+java -Djarmode=tools -jar "$JAR" extract --destination "$WORK/app"
+APP_JAR="$WORK/app/$(basename "$JAR")"
+
+start_app() {
+    java "$@" -Dspring.profiles.active=prod -Dspring.context.exit=onRefresh -jar "$APP_JAR" > "$WORK/last-run.log" 2>&1
+}
+
+# Training runs write one class-data-sharing archive per mode; the archive must match the classes that are loaded.
+start_app -XX:ArchiveClassesAtExit="$WORK/jvm.jsa"
+start_app -XX:ArchiveClassesAtExit="$WORK/aot.jsa" -Dspring.aot.enabled=true
+
+measure() {
+    name=$1
+    shift
+    total=0
+    i=0
+    while [ "$i" -lt "$RUNS" ]; do
+        begin=$(date +%s%N)
+        start_app "$@"
+        end=$(date +%s%N)
+        total=$((total + (end - begin) / 1000000))
+        i=$((i + 1))
+    done
+    printf '%-24s %6d ms\n' "$name" $((total / RUNS))
+}
+
+echo "Average startup over $RUNS runs:"
+measure "jvm"
+measure "jvm + lazy"             -Dspring.main.lazy-initialization=true
+measure "jvm + cds"              -XX:SharedArchiveFile="$WORK/jvm.jsa"
+measure "aot + cds"              -XX:SharedArchiveFile="$WORK/aot.jsa" -Dspring.aot.enabled=true
+measure "aot + cds + lazy"       -XX:SharedArchiveFile="$WORK/aot.jsa" -Dspring.aot.enabled=true -Dspring.main.lazy-initialization=true
@@ -0,0 +1,98 @@
+package com.complaints.benchmark;
+
+import com.complaints.controller.ComplaintControllerAdvice;
+import com.complaints.dto.request.ComplaintCreateRequest;
+import com.complaints.exception.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.hibernate.validator.HibernateValidator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of answering an invalid or unknown-id request: validating the body with and without fail-fast, turning the
+ * violations into the 400 response, and creating the exception behind a 404. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorPathBenchmark {
+
+    private Validator allViolations;
+    private Validator failFast;
+    private ComplaintCreateRequest invalid;
+    private ComplaintControllerAdvice advice;
+    private MethodArgumentNotValidException singleError;
+    private MethodArgumentNotValidException allErrors;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        allViolations = validator(false);
+        failFast = validator(true);
+        invalid = new ComplaintCreateRequest();
+        invalid.setProductId(-1L);
+        invalid.setDate(LocalDate.now().plusDays(1));
+        invalid.setDescription(" ");
+
+        // Logs once, then counts suppressed warnings for the rest of the trial
+        advice = new ComplaintControllerAdvice(Duration.ofMinutes(10));
+        MethodParameter parameter = new MethodParameter(ErrorPathBenchmark.class.getDeclaredMethod("create", ComplaintCreateRequest.class), 0);
+        singleError = notValid(parameter, failFast);
+        allErrors = notValid(parameter, allViolations);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ComplaintCreateRequest>> validateAll() {
+        return allViolations.validate(invalid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ComplaintCreateRequest>> validateFailFast() {
+        return failFast.validate(invalid);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> allErrorsResponse() throws Exception {
+        return advice.handleException(allErrors, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> singleErrorResponse() throws Exception {
+        return advice.handleException(singleError, null);
+    }
+
+    @Benchmark
+    public RuntimeException notFoundStackless() {
+        return new EntityNotFoundException("Complaint with id 42 not found");
+    }
+
+    // Baseline; the stack here is only as deep as the JMH harness, in a request it is a few times deeper
+    @Benchmark
+    public RuntimeException notFoundWithStackTrace() {
+        return new RuntimeException("Complaint with id 42 not found");
+    }
+
+    private MethodArgumentNotValidException notValid(MethodParameter parameter, Validator validator) {
+        BeanPropertyBindingResult result = new BeanPropertyBindingResult(invalid, "complaintCreateRequest");
+        new SpringValidatorAdapter(validator).validate(invalid, result);
+        return new MethodArgumentNotValidException(parameter, result);
+    }
+
+    private static Validator validator(boolean failFast) {
+        return Validation.byProvider(HibernateValidator.class).configure().failFast(failFast).buildValidatorFactory().getValidator();
+    }
+
+    @SuppressWarnings("unused")
+    private void create(ComplaintCreateRequest request) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.complaints.benchmark;
+
+import com.complaints.dto.response.CompactComplaintsResponse;
+import com.complaints.dto.response.ComplaintResponse;
+import com.complaints.dto.response.CustomerResponse;
+import com.complaints.entity.enums.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization cost and payload size of a listing page in each supported representation.
+ * Sizes are printed once per trial; run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"100", "1000"})
+    private int complaints;
+
+    @Param({"20"})
+    private int customers;
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private List<ComplaintResponse> page;
+
+    @Setup
+    public void setUp() throws IOException {
+        jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+
+        List<CustomerResponse> customerResponses = new ArrayList<>();
+        for (int i = 0; i < customers; i++) {
+            customerResponses.add(new CustomerResponse("customer" + i + "@example.com", "Customer " + i));
+        }
+        page = new ArrayList<>(complaints);
+        Status[] statuses = Status.values();
+        for (int i = 0; i < complaints; i++) {
+            page.add(new ComplaintResponse((long) i, 100L + i % 50, customerResponses.get(i % customers),
+                    LocalDate.of(2024, 12, 1).plusDays(i % 28), "Complaint description number " + i, statuses[i % statuses.length]));
+        }
+
+        System.out.printf("%n[payload bytes] json=%d json+gzip=%d compact=%d compact+gzip=%d cbor=%d cbor+gzip=%d%n",
+                json().length, gzip(json()).length, compact().length, gzip(compact()).length, cbor().length, gzip(cbor()).length);
+    }
+
+    @Benchmark
+    public byte[] json() throws IOException {
+        return jsonMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] jsonGzip() throws IOException {
+        return gzip(jsonMapper.writeValueAsBytes(page));
+    }
+
+    @Benchmark
+    public byte[] compact() throws IOException {
+        return jsonMapper.writeValueAsBytes(CompactComplaintsResponse.from(page));
+    }
+
+    @Benchmark
+    public byte[] compactGzip() throws IOException {
+        return gzip(jsonMapper.writeValueAsBytes(CompactComplaintsResponse.from(page)));
+    }
+
+    @Benchmark
+    public byte[] cbor() throws IOException {
+        return cborMapper.writeValueAsBytes(page);
+    }
+
+    private static byte[] gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(payload.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(payload);
+        }
+        return buffer.toByteArray();
+    }
+}
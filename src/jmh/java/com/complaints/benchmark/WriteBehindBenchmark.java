@@ -0,0 +1,87 @@
+package com.complaints.benchmark;
+
+import com.complaints.entity.enums.Status;
+import com.complaints.writebehind.ComplaintUpdateBatcher;
+import com.complaints.writebehind.UpdateJournal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Many threads updating a few hot complaints. {@code direct} serializes each update behind a per-row lock that is
+ * held for the simulated statement time, like concurrent UPDATEs of the same row. {@code writeBehind} journals and
+ * merges the update, while a background flush performs one simulated statement per complaint per window.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class WriteBehindBenchmark {
+
+    @Param({"4"})
+    private int hotComplaints;
+
+    @Param({"200"})
+    private long statementMicros;
+
+    private Object[] rowLocks;
+    private Path journalFile;
+    private Path deadLetterFile;
+    private ComplaintUpdateBatcher batcher;
+    private ScheduledExecutorService flusher;
+    private final AtomicLong statements = new AtomicLong();
+
+    @Setup
+    public void setUp() throws Exception {
+        rowLocks = new Object[hotComplaints];
+        for (int i = 0; i < hotComplaints; i++) {
+            rowLocks[i] = new Object();
+        }
+        journalFile = Files.createTempFile("complaint-updates", ".journal");
+        deadLetterFile = Files.createTempFile("complaint-updates", ".dead");
+        batcher = new ComplaintUpdateBatcher(new UpdateJournal(journalFile, new ObjectMapper()), new UpdateJournal(deadLetterFile, new ObjectMapper()),
+                updates -> updates.forEach(update -> statement()), 5);
+        flusher = Executors.newSingleThreadScheduledExecutor();
+        flusher.scheduleWithFixedDelay(batcher::flush, 50, 50, TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        flusher.shutdownNow();
+        batcher.close();
+        Files.deleteIfExists(journalFile);
+        Files.deleteIfExists(deadLetterFile);
+        System.out.printf("%n[statements executed] %d%n", statements.getAndSet(0));
+    }
+
+    @Benchmark
+    public void direct(Blackhole blackhole) {
+        int complaint = ThreadLocalRandom.current().nextInt(hotComplaints);
+        synchronized (rowLocks[complaint]) {
+            statement();
+        }
+        blackhole.consume(complaint);
+    }
+
+    @Benchmark
+    public void writeBehind() {
+        long complaint = ThreadLocalRandom.current().nextInt(hotComplaints);
+        batcher.submit(complaint, 1L, 100L, "Updated during incident", Status.IN_PROGRESS);
+    }
+
+    private void statement() {
+        statements.incrementAndGet();
+        long end = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(statementMicros);
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.complaints.analytics;
+
+import com.complaints.dto.response.ProductHotspotResponse;
+import com.complaints.event.ComplaintCreatedEvent;
+import com.complaints.exception.InvalidRequestException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * Products with the most complaints created within a sliding window, kept in memory. The window is split into
+ * buckets, each holding a Space-Saving summary of at most {@code capacity} products, so memory is bounded and a
+ * query never touches the database. Bucket counts are summed into window totals as they are recorded and expired,
+ * so a query only walks the highest totals. Counts are per node.
+ */
+@Component
+public class ProductHotspotTracker {
+
+    private static final Comparator<ProductHotspotResponse> RANKING = Comparator.comparingLong(ProductHotspotResponse::complaints).reversed()
+            .thenComparing(ProductHotspotResponse::productId);
+
+    private final Clock clock;
+    private final int capacity;
+    private final long bucketMillis;
+    private final Bucket[] buckets;
+    private final Map<Long, Total> totals = new HashMap<>();
+    private final TreeSet<Total> ranked = new TreeSet<>(Comparator.<Total>comparingLong(total -> total.count).reversed()
+            .thenComparingLong(total -> total.productId));
+
+    @Autowired
+    public ProductHotspotTracker(@Value("${complaints.hotspots.window:10m}") Duration window,
+                                 @Value("${complaints.hotspots.buckets:10}") int bucketCount,
+                                 @Value("${complaints.hotspots.capacity:100}") int capacity) {
+        this(Clock.systemUTC(), window, bucketCount, capacity);
+    }
+
+    ProductHotspotTracker(Clock clock, Duration window, int bucketCount, int capacity) {
+        this.clock = clock;
+        this.capacity = capacity;
+        this.bucketMillis = Math.max(1, window.toMillis() / bucketCount);
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket(capacity);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintCreated(ComplaintCreatedEvent event) {
+        record(event.productId());
+    }
+
+    public synchronized void record(Long productId) {
+        long epoch = clock.millis() / bucketMillis;
+        Bucket bucket = buckets[(int) (epoch % buckets.length)];
+        if (bucket.epoch != epoch) {
+            expire(bucket);
+            bucket.epoch = epoch;
+        }
+        Counter evicted = bucket.offer(productId);
+        if (evicted != null) {
+            add(evicted.productId, -evicted.count, -evicted.error);
+            add(productId, evicted.count, evicted.count);
+        }
+        add(productId, 1, 0);
+    }
+
+    /**
+     * Returns the products with the highest upper bound on complaints in the window. A product missing from a full
+     * bucket may have been evicted from it, so that bucket's smallest count is added to both its count and error.
+     */
+    public synchronized List<ProductHotspotResponse> top(int limit) {
+        if (limit < 1 || limit > capacity) {
+            throw new InvalidRequestException("Limit must be between 1 and " + capacity + ".");
+        }
+        long oldestEpoch = clock.millis() / bucketMillis - buckets.length + 1;
+        long maxMissing = 0;
+        for (Bucket bucket : buckets) {
+            if (bucket.epoch < oldestEpoch) {
+                expire(bucket);
+            }
+            maxMissing += bucket.minimum();
+        }
+
+        PriorityQueue<ProductHotspotResponse> best = new PriorityQueue<>(RANKING.reversed());
+        for (Total total : ranked) {
+            // Totals are walked in descending order, so no later product can reach the current top
+            if (best.size() == limit && total.count + maxMissing < best.peek().complaints()) {
+                break;
+            }
+            long missing = 0;
+            for (Bucket bucket : buckets) {
+                if (!bucket.counters.containsKey(total.productId)) {
+                    missing += bucket.minimum();
+                }
+            }
+            best.add(new ProductHotspotResponse(total.productId, total.count + missing, total.error + missing));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        return best.stream().sorted(RANKING).toList();
+    }
+
+    private void expire(Bucket bucket) {
+        for (Counter counter : bucket.counters.values()) {
+            add(counter.productId, -counter.count, -counter.error);
+        }
+        bucket.clear();
+    }
+
+    private void add(long productId, long count, long error) {
+        Total total = totals.get(productId);
+        if (total == null) {
+            total = new Total(productId);
+            totals.put(productId, total);
+        } else {
+            ranked.remove(total);
+        }
+        total.count += count;
+        total.error += error;
+        if (total.count == 0) {
+            totals.remove(productId);
+        } else {
+            ranked.add(total);
+        }
+    }
+
+    private static final class Bucket {
+
+        private static final Comparator<Counter> BY_COUNT = Comparator.<Counter>comparingLong(counter -> counter.count)
+                .thenComparingLong(counter -> counter.productId);
+
+        private final int capacity;
+        private final Map<Long, Counter> counters = new HashMap<>();
+        private final TreeSet<Counter> ordered = new TreeSet<>(BY_COUNT);
+        private long epoch = Long.MIN_VALUE;
+
+        private Bucket(int capacity) {
+            this.capacity = capacity;
+        }
+
+        private void clear() {
+            counters.clear();
+            ordered.clear();
+        }
+
+        // An untracked product was counted at most this often, as it would otherwise have replaced the least counted one
+        private long minimum() {
+            return counters.size() < capacity ? 0 : ordered.first().count;
+        }
+
+        // Space-Saving: a new product replaces the least counted one and inherits its count as possible error.
+        // Returns the replaced counter, if any.
+        private Counter offer(Long productId) {
+            Counter evicted = null;
+            Counter counter = counters.get(productId);
+            if (counter == null) {
+                if (counters.size() < capacity) {
+                    counter = new Counter(productId, 0, 0);
+                } else {
+                    evicted = ordered.pollFirst();
+                    counters.remove(evicted.productId);
+                    counter = new Counter(productId, evicted.count, evicted.count);
+                }
+                counters.put(productId, counter);
+            } else {
+                ordered.remove(counter);
+            }
+            counter.count++;
+            ordered.add(counter);
+            return evicted;
+        }
+    }
+
+    private static final class Counter {
+
+        private final long productId;
+        private long count;
+        private final long error;
+
+        private Counter(long productId, long count, long error) {
+            this.productId = productId;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    private static final class Total {
+
+        private final long productId;
+        private long count;
+        private long error;
+
+        private Total(long productId) {
+            this.productId = productId;
+        }
+    }
+}
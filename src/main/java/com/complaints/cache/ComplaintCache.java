@@ -0,0 +1,159 @@
+package com.complaints.cache;
+
+import com.complaints.datasource.ReplicaRoutingDataSource;
+import com.complaints.event.ComplaintChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Two-level cache for complaint reads: a Caffeine near-cache on each node in front of a {@link SharedCacheStore}.
+ * Misses are loaded once per key however many callers are waiting, through a {@link RequestCoalescer}. Changes evict
+ * the shared entries and are broadcast so every node drops its local copies.
+ * <p>
+ * Every load registers a token under its key until it stores the value. An invalidation removes the tokens of the
+ * keys it covers before evicting them, and a load only stores its value if its token is still registered, checked
+ * and stored in one atomic step. So a value read before a change is never cached after it, and changes to other keys
+ * do not affect a load. Loads that start within the read-your-writes window after an invalidation read from the
+ * primary, so they do not cache what a lagging replica still returns.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "complaints.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ComplaintCache {
+
+    private static final String COMPLAINT_PREFIX = "complaint:";
+    private static final String LISTING_PREFIX = "listing:";
+
+    private final Cache<String, Object> local;
+    private final SharedCacheStore shared;
+    private final Duration sharedTtl;
+    private final RequestCoalescer coalescer;
+    private final ConcurrentMap<String, Object> loading = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> recentlyInvalidated;
+
+    public ComplaintCache(SharedCacheStore shared,
+                          MeterRegistry meterRegistry,
+                          @Value("${complaints.cache.local.ttl:30s}") Duration localTtl,
+                          @Value("${complaints.cache.local.max-size:10000}") long localMaxSize,
+                          @Value("${complaints.cache.shared.ttl:5m}") Duration sharedTtl,
+                          @Value("${complaints.coalescing.max-wait:5s}") Duration coalescingMaxWait,
+                          @Value("${complaints.datasource.read-your-writes-window:5s}") Duration replicaLagWindow) {
+        this.local = Caffeine.newBuilder()
+                .expireAfterWrite(localTtl)
+                .maximumSize(localMaxSize)
+                .build();
+        this.recentlyInvalidated = Caffeine.newBuilder()
+                .expireAfterWrite(replicaLagWindow)
+                .maximumSize(localMaxSize)
+                .build();
+        this.shared = shared;
+        this.sharedTtl = sharedTtl;
+        this.coalescer = new RequestCoalescer("complaint-cache", meterRegistry, coalescingMaxWait);
+        shared.subscribe(this::evictLocal);
+    }
+
+    public <T> T getComplaint(Long id, Supplier<T> loader) {
+        return get(COMPLAINT_PREFIX + id, COMPLAINT_PREFIX + id, loader);
+    }
+
+    public <T> T getListing(String key, Supplier<T> loader) {
+        return get(LISTING_PREFIX + key, LISTING_PREFIX, loader);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T peekComplaint(Long id) {
+        return (T) lookup(COMPLAINT_PREFIX + id);
+    }
+
+    public void putComplaint(Long id, Object value) {
+        String key = COMPLAINT_PREFIX + id;
+        local.put(key, value);
+        shared.put(key, value, sharedTtl);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        if (event.complaintId() != null) {
+            invalidate(COMPLAINT_PREFIX + event.complaintId());
+        }
+        invalidate(LISTING_PREFIX);
+    }
+
+    // scope is the key or prefix whose invalidation makes the entry stale
+    @SuppressWarnings("unchecked")
+    private <T> T get(String key, String scope, Supplier<T> loader) {
+        Object value = lookup(key);
+        if (value != null) {
+            return (T) value;
+        }
+        return (T) load(key, scope, loader);
+    }
+
+    private Object lookup(String key) {
+        Object value = local.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        value = shared.get(key);
+        if (value != null) {
+            local.put(key, value);
+        }
+        return value;
+    }
+
+    private Object load(String key, String scope, Supplier<?> supplier) {
+        return coalescer.execute(key, () -> {
+            Object token = new Object();
+            loading.put(key, token);
+            try {
+                Object value = recentlyInvalidated.getIfPresent(scope) != null
+                        ? ReplicaRoutingDataSource.onPrimary(supplier)
+                        : supplier.get();
+                if (value != null) {
+                    // Runs under the map's lock for the key, so an invalidation either removed the token already or
+                    // evicts the value after it is stored
+                    loading.computeIfPresent(key, (k, current) -> {
+                        if (current == token) {
+                            local.put(key, value);
+                            shared.put(key, value, sharedTtl);
+                        }
+                        return current;
+                    });
+                }
+                return value;
+            } finally {
+                loading.remove(key, token);
+            }
+        });
+    }
+
+    private void invalidate(String keyOrPrefix) {
+        // Local first: it cancels loads in flight, so none of them can store a stale value after the shared eviction
+        evictLocal(keyOrPrefix);
+        shared.evict(keyOrPrefix);
+        shared.publishInvalidation(keyOrPrefix);
+    }
+
+    private void evictLocal(String keyOrPrefix) {
+        log.debug("Evicting {} from the local complaint cache", keyOrPrefix);
+        recentlyInvalidated.put(keyOrPrefix, Boolean.TRUE);
+        if (SharedCacheStore.isPrefix(keyOrPrefix)) {
+            loading.keySet().removeIf(key -> key.startsWith(keyOrPrefix));
+            local.asMap().keySet().removeIf(key -> key.startsWith(keyOrPrefix));
+        } else {
+            loading.remove(keyOrPrefix);
+            local.invalidate(keyOrPrefix);
+        }
+    }
+}
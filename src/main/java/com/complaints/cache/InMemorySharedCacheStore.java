@@ -0,0 +1,68 @@
+package com.complaints.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Single-process stand-in for a networked store, used when no other {@link SharedCacheStore} is configured.
+ */
+public class InMemorySharedCacheStore implements SharedCacheStore {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private final Clock clock;
+
+    public InMemorySharedCacheStore() {
+        this(Clock.systemUTC());
+    }
+
+    public InMemorySharedCacheStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Object get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt().isBefore(clock.instant())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    @Override
+    public void put(String key, Object value, Duration ttl) {
+        entries.put(key, new Entry(value, clock.instant().plus(ttl)));
+    }
+
+    @Override
+    public void evict(String keyOrPrefix) {
+        if (SharedCacheStore.isPrefix(keyOrPrefix)) {
+            entries.keySet().removeIf(key -> key.startsWith(keyOrPrefix));
+        } else {
+            entries.remove(keyOrPrefix);
+        }
+    }
+
+    @Override
+    public void publishInvalidation(String keyOrPrefix) {
+        listeners.forEach(listener -> listener.accept(keyOrPrefix));
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    private record Entry(Object value, Instant expiresAt) {
+    }
+}
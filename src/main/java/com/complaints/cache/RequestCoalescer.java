@@ -0,0 +1,94 @@
+package com.complaints.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent calls with the same key share one execution: the first caller runs the supplier and later callers
+ * wait for its result (or exception) instead of running it again. Nothing is kept once the call completes.
+ * A caller waits at most {@code maxWait}; if the shared call is still running by then, it runs the supplier itself,
+ * so one stuck call cannot hold every identical request indefinitely.
+ */
+public class RequestCoalescer {
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Counter timedOut;
+    private final Duration maxWait;
+
+    public RequestCoalescer(String name, MeterRegistry registry, Duration maxWait) {
+        this.maxWait = maxWait;
+        this.executed = Counter.builder("complaints.coalescer.calls")
+                .description("Calls that ran the underlying operation")
+                .tag("name", name)
+                .tag("outcome", "executed")
+                .register(registry);
+        this.coalesced = Counter.builder("complaints.coalescer.calls")
+                .description("Calls that joined an identical call already in flight")
+                .tag("name", name)
+                .tag("outcome", "coalesced")
+                .register(registry);
+        this.timedOut = Counter.builder("complaints.coalescer.calls")
+                .description("Coalesced calls that stopped waiting and ran the underlying operation themselves")
+                .tag("name", name)
+                .tag("outcome", "timed_out")
+                .register(registry);
+        Gauge.builder("complaints.coalescer.in.flight", inFlight, ConcurrentMap::size)
+                .description("Distinct calls currently in flight")
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder("complaints.coalescer.ratio", this, RequestCoalescer::coalescingRatio)
+                .description("Share of calls that were coalesced")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> supplier) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            try {
+                return (T) existing.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : new CompletionException(e.getCause());
+            } catch (TimeoutException e) {
+                timedOut.increment();
+                return supplier.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a coalesced call", e);
+            }
+        }
+
+        executed.increment();
+        try {
+            T value = supplier.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    public double coalescingRatio() {
+        double total = executed.count() + coalesced.count();
+        return total == 0 ? 0 : coalesced.count() / total;
+    }
+}
@@ -0,0 +1,26 @@
+package com.complaints.cache;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Cache shared by all application nodes, together with the channel used to tell every node to drop local copies.
+ * Keys ending with ':' passed to {@link #evict} or {@link #publishInvalidation} address every key with that prefix.
+ */
+public interface SharedCacheStore {
+
+    Object get(String key);
+
+    void put(String key, Object value, Duration ttl);
+
+    void evict(String keyOrPrefix);
+
+    void publishInvalidation(String keyOrPrefix);
+
+    void subscribe(Consumer<String> listener);
+
+    static boolean isPrefix(String keyOrPrefix) {
+        return keyOrPrefix.endsWith(":");
+    }
+
+}
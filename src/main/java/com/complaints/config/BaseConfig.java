@@ -1,15 +1,31 @@
 package com.complaints.config;
 
+import com.complaints.dto.response.ComplaintResponse;
+import com.complaints.entity.ArchivedComplaint;
+import com.complaints.entity.Complaint;
+import com.complaints.entity.ListedComplaint;
 import org.modelmapper.ModelMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @Configuration
+@ImportRuntimeHints(ComplaintsRuntimeHints.class)
 public class BaseConfig {
 
+    /**
+     * Customers are mapped separately by the services, so the mapper must not follow the lazy association.
+     */
     @Bean
     public ModelMapper modelMapper() {
-        return new ModelMapper();
+        ModelMapper modelMapper = new ModelMapper();
+        modelMapper.typeMap(Complaint.class, ComplaintResponse.class)
+                .addMappings(mapping -> mapping.skip(ComplaintResponse::setCustomer));
+        modelMapper.typeMap(ArchivedComplaint.class, ComplaintResponse.class)
+                .addMappings(mapping -> mapping.skip(ComplaintResponse::setCustomer));
+        modelMapper.typeMap(ListedComplaint.class, ComplaintResponse.class)
+                .addMappings(mapping -> mapping.skip(ComplaintResponse::setCustomer));
+        return modelMapper;
     }
 
 }
@@ -0,0 +1,18 @@
+package com.complaints.config;
+
+import com.complaints.cache.InMemorySharedCacheStore;
+import com.complaints.cache.SharedCacheStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SharedCacheStore sharedCacheStore() {
+        return new InMemorySharedCacheStore();
+    }
+
+}
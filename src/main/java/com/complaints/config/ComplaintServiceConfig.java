@@ -0,0 +1,70 @@
+package com.complaints.config;
+
+import com.complaints.cache.ComplaintCache;
+import com.complaints.cache.RequestCoalescer;
+import com.complaints.repository.ComplaintRepository;
+import com.complaints.service.ComplaintService;
+import com.complaints.service.impl.CachingComplaintService;
+import com.complaints.service.impl.CoalescingComplaintService;
+import com.complaints.service.impl.ComplaintServiceImpl;
+import com.complaints.service.impl.ComplaintUpdateWriter;
+import com.complaints.service.impl.WriteBehindComplaintService;
+import com.complaints.writebehind.ComplaintUpdateBatcher;
+import com.complaints.writebehind.UpdateJournal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class ComplaintServiceConfig {
+
+    /**
+     * Identical concurrent reads are coalesced first, then served from the cache when it is enabled, and only then
+     * reach the transactional service. With write-behind enabled, updates are batched just before the service.
+     */
+    @Bean
+    @Primary
+    public ComplaintService complaintService(ComplaintServiceImpl complaintServiceImpl,
+                                             ObjectProvider<ComplaintCache> complaintCache,
+                                             ObjectProvider<ComplaintUpdateBatcher> updateBatcher,
+                                             ComplaintRepository complaintRepository,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${complaints.coalescing.max-wait:5s}") Duration coalescingMaxWait) {
+        ComplaintService service = complaintServiceImpl;
+        ComplaintUpdateBatcher batcher = updateBatcher.getIfAvailable();
+        if (batcher != null) {
+            service = new WriteBehindComplaintService(service, batcher, complaintRepository);
+        }
+        ComplaintCache cache = complaintCache.getIfAvailable();
+        if (cache != null) {
+            service = new CachingComplaintService(service, cache);
+        }
+        return new CoalescingComplaintService(service, new RequestCoalescer("complaint-service", meterRegistry, coalescingMaxWait));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "complaints.write-behind.enabled", havingValue = "true")
+    public ComplaintUpdateBatcher complaintUpdateBatcher(@Value("${complaints.write-behind.journal:data/complaint-updates.journal}") Path journalFile,
+                                                         @Value("${complaints.write-behind.dead-letter-journal:data/complaint-updates.dead}") Path deadLetterFile,
+                                                         @Value("${complaints.write-behind.max-attempts:5}") int maxAttempts,
+                                                         ObjectMapper objectMapper,
+                                                         ComplaintRepository complaintRepository,
+                                                         TransactionTemplate transactionTemplate,
+                                                         ApplicationEventPublisher eventPublisher) {
+        UpdateJournal journal = new UpdateJournal(journalFile, objectMapper);
+        UpdateJournal deadLetters = new UpdateJournal(deadLetterFile, objectMapper);
+        return new ComplaintUpdateBatcher(journal, deadLetters, new ComplaintUpdateWriter(complaintRepository, transactionTemplate, eventPublisher),
+                maxAttempts);
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.complaints.config;
+
+import com.complaints.dto.ValidationErrorResponse;
+import com.complaints.dto.response.*;
+import com.complaints.entity.ArchivedComplaint;
+import com.complaints.entity.Complaint;
+import com.complaints.entity.Customer;
+import com.complaints.entity.ListedComplaint;
+import com.complaints.entity.enums.Status;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reflection the native image needs beyond what Spring AOT infers from bean and controller signatures.
+ */
+public class ComplaintsRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // ModelMapper discovers and copies properties reflectively on both sides of a mapping.
+        for (Class<?> type : List.of(Complaint.class, ArchivedComplaint.class, ListedComplaint.class, Customer.class, ComplaintResponse.class, CustomerResponse.class)) {
+            hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+        // Serialized from the cache or via wrappers, so not always reachable from a controller return type.
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                ComplaintBatchResponse.class, ComplaintPageResponse.class, CompactComplaintsResponse.class,
+                TokenResponse.class, ValidationErrorResponse.class, Status.class);
+    }
+}
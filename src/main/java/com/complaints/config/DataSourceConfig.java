@@ -0,0 +1,65 @@
+package com.complaints.config;
+
+import com.complaints.datasource.ReadYourWritesTracker;
+import com.complaints.datasource.ReplicaLagMonitor;
+import com.complaints.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "complaints.datasource.replicas")
+public class DataSourceConfig {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(@Value("${complaints.datasource.read-your-writes-window:5s}") Duration window) {
+        return new ReadYourWritesTracker(window, 100_000);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSourceProperties properties,
+                                               @Value("${complaints.datasource.replicas}") List<String> replicaUrls,
+                                               @Value("${complaints.datasource.replica-max-lag:10s}") Duration maxLag) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replicaUrls.get(i))
+                    .username(properties.getUsername())
+                    .password(properties.getPassword())
+                    .build();
+            replica.setPoolName("replica-" + i);
+            replica.setReadOnly(true);
+            replicas.put("replica-" + i, replica);
+        }
+        return new ReplicaLagMonitor(replicas, maxLag);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties,
+                                                             ReplicaLagMonitor replicaLagMonitor,
+                                                             ReadYourWritesTracker readYourWritesTracker) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return new ReplicaRoutingDataSource(primary, replicaLagMonitor.replicas(), replicaLagMonitor, readYourWritesTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+}
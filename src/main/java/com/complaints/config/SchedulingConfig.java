@@ -0,0 +1,14 @@
+package com.complaints.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduled jobs run unless {@code complaints.scheduling.enabled} is false, as in the one-off {@code import} profile.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "complaints.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -1,15 +1,30 @@
 package com.complaints.config;
 
+import com.complaints.security.CachingPasswordEncoder;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
 import static org.springframework.security.config.Customizer.withDefaults;
 
 @AllArgsConstructor
@@ -21,17 +36,52 @@ public class SecurityConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(HttpMethod.POST, "/api/v1/auth/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1/complaints").authenticated()
                         .requestMatchers(HttpMethod.PUT, "/api/v1/complaints/*").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/api/v1/complaints/*").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/v1/complaints", "/api/v1/complaints/*").permitAll()
+                        .requestMatchers("/api/v1/customers/me/**").authenticated()
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").authenticated()
                         .anyRequest().permitAll())
-                .httpBasic(withDefaults());
+                .httpBasic(withDefaults())
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(withDefaults()));
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return NoOpPasswordEncoder.getInstance();
+    public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
+        return authenticationConfiguration.getAuthenticationManager();
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${complaints.security.credential-cache.ttl:5m}") Duration ttl,
+                                           @Value("${complaints.security.credential-cache.max-size:10000}") long maxSize) {
+        PasswordEncoder delegate = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        return new CachingPasswordEncoder(delegate, ttl, maxSize);
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder(@Value("${complaints.security.jwt.secret}") String secret) {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(jwtSecretKey(secret)));
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(@Value("${complaints.security.jwt.secret}") String secret) {
+        return NimbusJwtDecoder.withSecretKey(jwtSecretKey(secret))
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+    }
+
+    private SecretKey jwtSecretKey(String secret) {
+        if (secret.isBlank()) {
+            throw new IllegalStateException("complaints.security.jwt.secret is not set; set the JWT_SECRET environment variable");
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < 32) {
+            throw new IllegalStateException("complaints.security.jwt.secret must be at least 256 bits long");
+        }
+        return new SecretKeySpec(bytes, "HmacSHA256");
     }
 }
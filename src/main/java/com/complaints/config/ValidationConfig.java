@@ -0,0 +1,52 @@
+package com.complaints.config;
+
+import com.complaints.dto.request.ComplaintCreateRequest;
+import com.complaints.dto.request.ComplaintUpdateRequest;
+import com.complaints.dto.request.LoginRequest;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.validator.HibernateValidatorConfiguration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.validation.MessageInterpolatorFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+
+@Slf4j
+@Configuration
+public class ValidationConfig {
+
+    static final List<Class<?>> REQUEST_TYPES = List.of(ComplaintCreateRequest.class, ComplaintUpdateRequest.class, LoginRequest.class);
+
+    /**
+     * Replaces Boot's default validator with the same setup, optionally stopping at the first violated constraint.
+     */
+    @Bean
+    public static LocalValidatorFactoryBean defaultValidator(ApplicationContext applicationContext,
+                                                             @Value("${complaints.validation.fail-fast:false}") boolean failFast) {
+        LocalValidatorFactoryBean factoryBean = new LocalValidatorFactoryBean();
+        factoryBean.setMessageInterpolator(new MessageInterpolatorFactory(applicationContext).getObject());
+        factoryBean.setConfigurationInitializer(configuration -> {
+            if (configuration instanceof HibernateValidatorConfiguration hibernateConfiguration) {
+                hibernateConfiguration.failFast(failFast);
+            }
+        });
+        return factoryBean;
+    }
+
+    /**
+     * Builds the constraint metadata of the request bodies up front, so it is not built by the first requests under load.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpValidator(ApplicationReadyEvent event) {
+        Validator validator = event.getApplicationContext().getBean(Validator.class);
+        REQUEST_TYPES.forEach(validator::getConstraintsForClass);
+        log.debug("Validator metadata built for {}", REQUEST_TYPES);
+    }
+
+}
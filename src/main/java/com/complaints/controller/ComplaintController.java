@@ -1,8 +1,12 @@
 package com.complaints.controller;
 
+import com.complaints.analytics.ProductHotspotTracker;
 import com.complaints.dto.request.ComplaintCreateRequest;
 import com.complaints.dto.request.ComplaintUpdateRequest;
+import com.complaints.dto.response.CompactComplaintsResponse;
+import com.complaints.dto.response.ComplaintBatchResponse;
 import com.complaints.dto.response.ComplaintResponse;
+import com.complaints.dto.response.ProductHotspotResponse;
 import com.complaints.service.ComplaintService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,37 +16,103 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
-@RequestMapping(value = "/api/v1/complaints", produces = "application/json")
+@RequestMapping(value = "/api/v1/complaints", produces = {"application/json", "application/cbor"})
 public class ComplaintController {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private static final int DEFAULT_HOTSPOT_LIMIT = 10;
+
     private final ComplaintService complaintService;
+    private final ProductHotspotTracker hotspotTracker;
 
-    public ComplaintController(ComplaintService complaintService) {
+    public ComplaintController(ComplaintService complaintService, ProductHotspotTracker hotspotTracker) {
         this.complaintService = complaintService;
+        this.hotspotTracker = hotspotTracker;
     }
 
-    @Operation(summary = "Get all complaints", description = "Returns a list of all complaints.")
+    @Operation(summary = "Get all complaints", description = "Returns a list of all complaints, optionally restricted to a date range.")
     @ApiResponse(responseCode = "200", description = "Successful operation, returns a list of complaints", content = @Content(schema = @Schema(implementation = ComplaintResponse.class)))
     @GetMapping()
     public ResponseEntity<List<ComplaintResponse>> getComplaints(@RequestParam(value = "page", required = false) Integer page,
                                                                  @RequestParam(value = "size", required = false) Integer size,
-                                                                 @RequestParam(value = "sort", required = false) String sort) {
+                                                                 @RequestParam(value = "sort", required = false) String sort,
+                                                                 @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                 @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<ComplaintResponse> complaints = findComplaints(page, size, sort, from, to);
+        return ResponseEntity.ok(complaints);
+    }
+
+    @Operation(summary = "Get all complaints (compact)", description = "Returns the same list as the default representation when called with view=compact, with each customer sent once and referenced by index.")
+    @ApiResponse(responseCode = "200", description = "Successful operation, returns a compact list of complaints", content = @Content(schema = @Schema(implementation = CompactComplaintsResponse.class)))
+    @GetMapping(params = {"view=compact", "!fields"}, produces = CompactComplaintsResponse.MEDIA_TYPE)
+    public ResponseEntity<CompactComplaintsResponse> getComplaintsCompact(@RequestParam(value = "page", required = false) Integer page,
+                                                                          @RequestParam(value = "size", required = false) Integer size,
+                                                                          @RequestParam(value = "sort", required = false) String sort,
+                                                                          @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                          @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<ComplaintResponse> complaints = findComplaints(page, size, sort, from, to);
+        return ResponseEntity.ok(CompactComplaintsResponse.from(complaints));
+    }
+
+    @Operation(summary = "Get selected fields of all complaints", description = "Returns only the requested fields (id, productId, customer, date, description, status) of each complaint, optionally restricted to a date range.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation, returns a list of partial complaints"),
+            @ApiResponse(responseCode = "400", description = "Unknown field requested"),
+    })
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getComplaintFields(@RequestParam(value = "fields") Set<String> fields,
+                                                                         @RequestParam(value = "page", required = false) Integer page,
+                                                                         @RequestParam(value = "size", required = false) Integer size,
+                                                                         @RequestParam(value = "sort", required = false) String sort,
+                                                                         @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                         @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from != null || to != null) {
+            List<Map<String, Object>> complaints = complaintService.searchFields(fields, from, to, searchPageRequest(page, size, sort));
+            return ResponseEntity.ok(complaints);
+        }
         if (page == null || size == null || sort == null || sort.isBlank()) {
-            List<ComplaintResponse> complaints = complaintService.findAll();
+            List<Map<String, Object>> complaints = complaintService.findAllFields(fields);
             return ResponseEntity.ok(complaints);
         }
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by(sort));
-        List<ComplaintResponse> complaints = complaintService.findAll(pageRequest);
+        List<Map<String, Object>> complaints = complaintService.findAllFields(fields, pageRequest);
         return ResponseEntity.ok(complaints);
     }
 
+    @Operation(summary = "Get complaints by IDs", description = "Returns the complaints with the given IDs in request order, and lists the IDs that were not found.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation, returns the found complaints and missing IDs", content = @Content(schema = @Schema(implementation = ComplaintBatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "No IDs or too many IDs requested", content = @Content(schema = @Schema(implementation = ComplaintBatchResponse.class))),
+    })
+    @GetMapping(value = "/batch")
+    public ResponseEntity<ComplaintBatchResponse> getComplaintsByIds(@RequestParam("ids") List<Long> ids) {
+        ComplaintBatchResponse batchResponse = complaintService.findAllById(ids);
+        return ResponseEntity.ok(batchResponse);
+    }
+
+    @Operation(summary = "Get product hotspots", description = "Returns the products with the most complaints created recently on this node, most complained about first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation, returns products with complaint counts", content = @Content(schema = @Schema(implementation = ProductHotspotResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Limit out of range", content = @Content(schema = @Schema(implementation = ProductHotspotResponse.class))),
+    })
+    @GetMapping(value = "/hotspots")
+    public ResponseEntity<List<ProductHotspotResponse>> getHotspots(@RequestParam(value = "limit", required = false) Integer limit) {
+        List<ProductHotspotResponse> hotspots = hotspotTracker.top(limit == null ? DEFAULT_HOTSPOT_LIMIT : limit);
+        return ResponseEntity.ok(hotspots);
+    }
+
     @Operation(summary = "Get complaint by ID", description = "Returns a single complaint based on the provided ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Complaint found and returned", content = @Content(schema = @Schema(implementation = ComplaintResponse.class))),
@@ -56,6 +126,7 @@ public class ComplaintController {
 
     @Operation(summary = "Add a new complaint", description = "Creates a new complaint and returns the created object.")
     @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Near-duplicate of an open complaint, which is returned instead", content = @Content(schema = @Schema(implementation = ComplaintResponse.class))),
             @ApiResponse(responseCode = "201", description = "Complaint successfully created", content = @Content(schema = @Schema(implementation = ComplaintResponse.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content(schema = @Schema(implementation = ComplaintResponse.class))),
             @ApiResponse(responseCode = "403", description = "Do not have permission to modify this complaint", content = @Content(schema = @Schema(implementation = ComplaintResponse.class))),
@@ -63,7 +134,9 @@ public class ComplaintController {
     @PostMapping()
     public ResponseEntity<ComplaintResponse> addComplaint(@RequestBody @Valid ComplaintCreateRequest createRequest) {
         ComplaintResponse savedComplaintResponse = complaintService.save(createRequest);
-        return new ResponseEntity<>(savedComplaintResponse, HttpStatus.CREATED);
+        // A create merged into an existing complaint returns that complaint
+        boolean merged = savedComplaintResponse.getDuplicateOf() != null && savedComplaintResponse.getDuplicateOf().equals(savedComplaintResponse.getId());
+        return new ResponseEntity<>(savedComplaintResponse, merged ? HttpStatus.OK : HttpStatus.CREATED);
     }
 
     @Operation(summary = "Update an existing complaint", description = "Updates the specified complaint with new data.")
@@ -90,4 +163,22 @@ public class ComplaintController {
         return ResponseEntity.noContent().build();
     }
 
+    private List<ComplaintResponse> findComplaints(Integer page, Integer size, String sort, LocalDate from, LocalDate to) {
+        if (from != null || to != null) {
+            return complaintService.search(from, to, searchPageRequest(page, size, sort));
+        }
+        if (page == null || size == null || sort == null || sort.isBlank()) {
+            return complaintService.findAll();
+        }
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(sort));
+        return complaintService.findAll(pageRequest);
+    }
+
+    private static PageRequest searchPageRequest(Integer page, Integer size, String sort) {
+        return PageRequest.of(
+                page == null ? 0 : page,
+                size == null ? DEFAULT_PAGE_SIZE : size,
+                sort == null || sort.isBlank() ? Sort.by("date", "id") : Sort.by(sort));
+    }
+
 }
@@ -2,11 +2,16 @@ package com.complaints.controller;
 
 import com.complaints.dto.ValidationErrorResponse;
 import com.complaints.exception.EntityNotFoundException;
+import com.complaints.exception.InvalidRequestException;
 import com.complaints.exception.UnableToModifyException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
 import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -14,18 +19,37 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @RestControllerAdvice
 public class ComplaintControllerAdvice extends ResponseEntityExceptionHandler {
 
+    private static final String VALIDATION_FAILED = "Validation failed";
+    private static final int MAX_CACHED_RESPONSES = 256;
+
+    private final RateLimitedLog validationLog;
+    // With fail-fast validation most invalid requests have a single error, and the same few errors repeat
+    private final Map<FieldMessage, ValidationErrorResponse> singleErrorResponses = new ConcurrentHashMap<>();
+
+    public ComplaintControllerAdvice(@Value("${complaints.validation.log-interval:10s}") Duration validationLogInterval) {
+        this.validationLog = new RateLimitedLog(log, validationLogInterval);
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ErrorResponse handleEntityNotFoundException(EntityNotFoundException e) {
         return ErrorResponse.builder(e, HttpStatus.NOT_FOUND, e.getMessage()).build();
     }
 
+    @ExceptionHandler(InvalidRequestException.class)
+    public ErrorResponse handleInvalidRequestException(InvalidRequestException e) {
+        return ErrorResponse.builder(e, HttpStatus.BAD_REQUEST, e.getMessage()).build();
+    }
+
     @ExceptionHandler(UnableToModifyException.class)
     public ErrorResponse handleUnableToModifyException(UnableToModifyException e) {
         return ErrorResponse.builder(e, HttpStatus.FORBIDDEN, e.getMessage()).build();
@@ -36,25 +60,44 @@ public class ComplaintControllerAdvice extends ResponseEntityExceptionHandler {
         return ErrorResponse.builder(e, HttpStatus.FORBIDDEN, e.getMessage()).build();
     }
 
+    @ExceptionHandler(AuthenticationException.class)
+    public ErrorResponse handleAuthenticationException(AuthenticationException e) {
+        return ErrorResponse.builder(e, HttpStatus.UNAUTHORIZED, e.getMessage()).build();
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
-        log.error("Validation failed: {}", ex.getMessage(), ex);
+        BindingResult result = ex.getBindingResult();
+        validationLog.warn("Validation of {} failed with {} errors", result.getObjectName(), result.getErrorCount());
+        return new ResponseEntity<>(validationErrorResponse(result), HttpStatus.BAD_REQUEST);
+    }
 
-        Map<String, String> errors = new HashMap<>();
-        ex.getBindingResult().getAllErrors().forEach(error -> {
-            String fieldName = (error instanceof FieldError) ? ((FieldError) error).getField() : error.getObjectName();
-            String errorMessage = error.getDefaultMessage();
-            errors.put(fieldName, errorMessage);
-        });
+    private ValidationErrorResponse validationErrorResponse(BindingResult result) {
+        List<ObjectError> allErrors = result.getAllErrors();
+        if (allErrors.size() == 1 && allErrors.get(0).getDefaultMessage() != null) {
+            FieldMessage key = new FieldMessage(fieldName(allErrors.get(0)), allErrors.get(0).getDefaultMessage());
+            ValidationErrorResponse cached = singleErrorResponses.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            ValidationErrorResponse response = new ValidationErrorResponse(HttpStatus.BAD_REQUEST.value(), VALIDATION_FAILED,
+                    Map.of(key.field(), key.message()));
+            if (singleErrorResponses.size() < MAX_CACHED_RESPONSES) {
+                singleErrorResponses.putIfAbsent(key, response);
+            }
+            return response;
+        }
 
-        ValidationErrorResponse response = new ValidationErrorResponse(
-                HttpStatus.BAD_REQUEST.value(),
-                "Validation failed",
-                errors
-        );
+        Map<String, String> errors = new HashMap<>();
+        allErrors.forEach(error -> errors.put(fieldName(error), error.getDefaultMessage()));
+        return new ValidationErrorResponse(HttpStatus.BAD_REQUEST.value(), VALIDATION_FAILED, errors);
+    }
 
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    private static String fieldName(ObjectError error) {
+        return error instanceof FieldError fieldError ? fieldError.getField() : error.getObjectName();
     }
 
+    private record FieldMessage(String field, String message) {
+    }
 
 }
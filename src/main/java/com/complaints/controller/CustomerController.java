@@ -0,0 +1,41 @@
+package com.complaints.controller;
+
+import com.complaints.dto.response.ComplaintPageResponse;
+import com.complaints.service.ComplaintService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(value = "/api/v1/customers", produces = {"application/json", "application/cbor"})
+public class CustomerController {
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final ComplaintService complaintService;
+
+    public CustomerController(ComplaintService complaintService) {
+        this.complaintService = complaintService;
+    }
+
+    @Operation(summary = "Get my complaints", description = "Returns the authenticated customer's complaints, newest first. Pass nextCursor from the previous page as cursor to continue.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation, returns a page of complaints", content = @Content(schema = @Schema(implementation = ComplaintPageResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size", content = @Content(schema = @Schema(implementation = ComplaintPageResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Not authenticated", content = @Content(schema = @Schema(implementation = ComplaintPageResponse.class))),
+    })
+    @GetMapping("/me/complaints")
+    public ResponseEntity<ComplaintPageResponse> getMyComplaints(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                 @RequestParam(value = "size", required = false) Integer size) {
+        ComplaintPageResponse page = complaintService.findByAuthenticatedCustomer(cursor, size == null ? DEFAULT_PAGE_SIZE : size);
+        return ResponseEntity.ok(page);
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.complaints.controller;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Writes at most one warning per interval and counts the ones in between. The count is reported with the next warning
+ * that gets through, so a burst of identical client errors costs a counter increment per request instead of a log line.
+ */
+class RateLimitedLog {
+
+    private final Logger log;
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong nextAllowed;
+    private final LongAdder suppressed = new LongAdder();
+
+    RateLimitedLog(Logger log, Duration interval) {
+        this(log, interval, System::nanoTime);
+    }
+
+    RateLimitedLog(Logger log, Duration interval, LongSupplier nanoClock) {
+        this.log = log;
+        this.intervalNanos = interval.toNanos();
+        this.nanoClock = nanoClock;
+        this.nextAllowed = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    void warn(String format, Object... args) {
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        long next = nextAllowed.get();
+        if (now - next < 0 || !nextAllowed.compareAndSet(next, now + intervalNanos)) {
+            suppressed.increment();
+            return;
+        }
+        long skipped = suppressed.sumThenReset();
+        if (skipped == 0) {
+            log.warn(format, args);
+        } else {
+            Object[] withSkipped = Arrays.copyOf(args, args.length + 1);
+            withSkipped[args.length] = skipped;
+            log.warn(format + " ({} similar messages suppressed)", withSkipped);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.complaints.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+/**
+ * Remembers clients that recently wrote so their reads stay on the primary until replicas have caught up.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, long maximumSize) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public void recordWrite() {
+        String client = currentClient();
+        if (client != null) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+    }
+
+    public boolean hasRecentWrite() {
+        String client = currentClient();
+        return client != null && recentWriters.getIfPresent(client) != null;
+    }
+
+    private String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
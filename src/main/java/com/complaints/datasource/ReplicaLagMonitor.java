@@ -0,0 +1,62 @@
+package com.complaints.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Periodically measures replication lag and keeps the list of replicas that are fit to serve reads.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END::BIGINT
+            """;
+
+    private final Map<String, DataSource> replicas;
+    private final long maxLagMillis;
+    private volatile List<String> healthyReplicas;
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, Duration maxLag) {
+        this.replicas = replicas;
+        this.maxLagMillis = maxLag.toMillis();
+        this.healthyReplicas = List.copyOf(replicas.keySet());
+    }
+
+    public Map<String, DataSource> replicas() {
+        return replicas;
+    }
+
+    public List<String> healthyReplicas() {
+        return healthyReplicas;
+    }
+
+    @Scheduled(fixedDelayString = "${complaints.datasource.replica-lag-check-interval-ms:5000}")
+    public void checkReplicas() {
+        List<String> healthy = new ArrayList<>(replicas.size());
+        replicas.forEach((key, dataSource) -> {
+            try {
+                Long lagMillis = new JdbcTemplate(dataSource).queryForObject(LAG_QUERY, Long.class);
+                if (lagMillis != null && lagMillis <= maxLagMillis) {
+                    healthy.add(key);
+                } else {
+                    log.warn("Replica {} is lagging by {} ms, routing its reads to the primary", key, lagMillis);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Replica {} is unavailable, routing its reads to the primary: {}", key, e.getMessage());
+            }
+        });
+        healthyReplicas = List.copyOf(healthy);
+    }
+}
@@ -0,0 +1,80 @@
+package com.complaints.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the connection is only chosen once the transaction's read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Map<Object, Object> targets = new HashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    ReplicaLagMonitor lagMonitor, ReadYourWritesTracker readYourWritesTracker) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+        targets.put(PRIMARY, primary);
+        targets.putAll(replicas);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWritesTracker.recordWrite();
+            }
+            return PRIMARY;
+        }
+        if (PRIMARY_ONLY.get() != null || readYourWritesTracker.hasRecentWrite()) {
+            return PRIMARY;
+        }
+        List<String> replicas = lagMonitor.healthyReplicas();
+        if (replicas.isEmpty()) {
+            return PRIMARY;
+        }
+        return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+
+    /**
+     * Runs {@code reads} with read-only transactions routed to the primary, for reads that must not see replica lag.
+     */
+    public static <T> T onPrimary(Supplier<T> reads) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Object target : targets.values()) {
+            if (target instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
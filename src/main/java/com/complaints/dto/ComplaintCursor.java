@@ -0,0 +1,29 @@
+package com.complaints.dto;
+
+import com.complaints.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last complaint returned by a keyset page, ordered by (date, id) descending.
+ */
+public record ComplaintCursor(LocalDate date, Long id) {
+
+    public String encode() {
+        String value = date + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ComplaintCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            return new ComplaintCursor(LocalDate.parse(value.substring(0, separator)), Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid cursor " + cursor + ".", e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.complaints.dto.request;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class LoginRequest {
+
+    @NotBlank(message = "Email should not be empty")
+    @Email(message = "Email should be valid")
+    private String email;
+
+    @NotBlank(message = "Password should not be empty")
+    private String password;
+
+}
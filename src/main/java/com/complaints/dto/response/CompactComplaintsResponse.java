@@ -0,0 +1,30 @@
+package com.complaints.dto.response;
+
+import com.complaints.entity.enums.Status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public record CompactComplaintsResponse(List<CustomerResponse> customers, List<CompactComplaint> complaints) {
+
+    public static final String MEDIA_TYPE = "application/vnd.complaints.compact+json";
+
+    public record CompactComplaint(Long id, Long productId, Integer customer, LocalDate date, String description, Status status) {
+    }
+
+    public static CompactComplaintsResponse from(List<ComplaintResponse> complaintResponses) {
+        Map<CustomerResponse, Integer> customerIndexes = new LinkedHashMap<>();
+        List<CompactComplaint> complaints = new ArrayList<>(complaintResponses.size());
+        for (ComplaintResponse complaintResponse : complaintResponses) {
+            Integer customerIndex = complaintResponse.getCustomer() == null
+                    ? null
+                    : customerIndexes.computeIfAbsent(complaintResponse.getCustomer(), customer -> customerIndexes.size());
+            complaints.add(new CompactComplaint(complaintResponse.getId(), complaintResponse.getProductId(), customerIndex,
+                    complaintResponse.getDate(), complaintResponse.getDescription(), complaintResponse.getStatus()));
+        }
+        return new CompactComplaintsResponse(List.copyOf(customerIndexes.keySet()), complaints);
+    }
+}
@@ -0,0 +1,6 @@
+package com.complaints.dto.response;
+
+import java.util.List;
+
+public record ComplaintPageResponse(List<ComplaintResponse> complaints, String nextCursor) {
+}
@@ -1,6 +1,7 @@
 package com.complaints.dto.response;
 
 import com.complaints.entity.enums.Status;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 import java.time.LocalDate;
@@ -14,6 +15,8 @@ public class ComplaintResponse {
     private LocalDate date;
     private String description;
     private Status status;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long duplicateOf;
 
     public ComplaintResponse() {
     }
@@ -0,0 +1,8 @@
+package com.complaints.dto.response;
+
+/**
+ * Complaints about a product within the hotspot window, as an upper bound. The count may be overestimated by at most
+ * {@code maxOverestimate} when the product replaced another one in the tracked set or was itself replaced.
+ */
+public record ProductHotspotResponse(Long productId, long complaints, long maxOverestimate) {
+}
@@ -0,0 +1,4 @@
+package com.complaints.dto.response;
+
+public record TokenResponse(String accessToken, String tokenType, long expiresIn) {
+}
@@ -0,0 +1,53 @@
+package com.complaints.duplicates;
+
+import com.complaints.entity.Complaint;
+import com.complaints.repository.ComplaintRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Optional;
+
+/**
+ * Finds an open complaint of the same customer and product whose description is nearly the same as a new one.
+ * Candidates are the rows of the (customer_id, product_id, description_bands) GIN index that share at least one
+ * {@link SimHash#band band} with the new signature and are dated within the lookback, so only recent partitions
+ * are read; they are then compared by Hamming distance, so no complaint text is read or scanned.
+ */
+@Component
+public class DuplicateDetector {
+
+    private static final int MAX_CANDIDATES = 20;
+
+    private final ComplaintRepository repo;
+    private final DuplicateMode mode;
+    private final int maxDistance;
+    private final Duration lookback;
+
+    public DuplicateDetector(ComplaintRepository repo,
+                             @Value("${complaints.duplicates.mode:FLAG}") DuplicateMode mode,
+                             @Value("${complaints.duplicates.max-distance:12}") int maxDistance,
+                             @Value("${complaints.duplicates.lookback:90d}") Duration lookback) {
+        this.repo = repo;
+        this.mode = mode;
+        this.maxDistance = maxDistance;
+        this.lookback = lookback;
+    }
+
+    public boolean merges() {
+        return mode == DuplicateMode.MERGE;
+    }
+
+    public Optional<Complaint> findOriginal(Long customerId, Long productId, long simhash) {
+        if (mode == DuplicateMode.OFF) {
+            return Optional.empty();
+        }
+        LocalDate since = LocalDate.now().minusDays(lookback.toDays());
+        return repo.findDuplicateCandidates(customerId, productId, simhash, since, MAX_CANDIDATES).stream()
+                .filter(candidate -> SimHash.distance(candidate.getSimhash(), simhash) <= maxDistance)
+                .min(Comparator.comparingInt((Complaint candidate) -> SimHash.distance(candidate.getSimhash(), simhash))
+                        .thenComparing(Complaint::getId));
+    }
+}
@@ -0,0 +1,10 @@
+package com.complaints.duplicates;
+
+public enum DuplicateMode {
+    /** Duplicates are stored like any other complaint. */
+    OFF,
+    /** Duplicates are stored with duplicate_of pointing at the complaint they repeat. */
+    FLAG,
+    /** Duplicates are not stored; the create request returns the complaint they repeat. */
+    MERGE
+}
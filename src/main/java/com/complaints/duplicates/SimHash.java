@@ -0,0 +1,76 @@
+package com.complaints.duplicates;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * 64-bit SimHash of a text over its words and word pairs. Texts that differ in a few words get signatures that
+ * differ in a few bits, so the Hamming distance between signatures approximates how different the texts are.
+ */
+public final class SimHash {
+
+    public static final int BANDS = 8;
+    public static final int BAND_BITS = Long.SIZE / BANDS;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SimHash() {
+    }
+
+    public static long of(String text) {
+        String[] words = text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        int[] weights = new int[Long.SIZE];
+        String previous = null;
+        for (String word : words) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            add(weights, hash(word));
+            if (previous != null) {
+                add(weights, hash(previous + ' ' + word));
+            }
+            previous = word;
+        }
+        long signature = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (weights[bit] > 0) {
+                signature |= 1L << bit;
+            }
+        }
+        return signature;
+    }
+
+    public static int distance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+
+    /**
+     * The 8-bit slice of a signature used as an LSH bucket. Signatures within distance {@code BANDS - 1} always share
+     * a band; at 12 bits, about three in four pairs still do, while unrelated texts share one about 2% of the time.
+     */
+    public static int band(long signature, int band) {
+        return (int) ((signature >>> (band * BAND_BITS)) & 0xFF);
+    }
+
+    private static void add(int[] weights, long featureHash) {
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            weights[bit] += ((featureHash >>> bit) & 1) == 1 ? 1 : -1;
+        }
+    }
+
+    // FNV-1a followed by a murmur finalizer, so that similar words do not produce similar hashes
+    private static long hash(String feature) {
+        long hash = FNV_OFFSET;
+        for (byte b : feature.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,58 @@
+package com.complaints.entity;
+
+import com.complaints.entity.enums.Status;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@ToString
+@Entity
+@Immutable
+@Table(name = "complaints_archive")
+public class ArchivedComplaint {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_id", referencedColumnName = "id", nullable = false)
+    private Customer customer;
+
+    @Column(name = "date")
+    private LocalDate date;
+
+    @Column(name = "description")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private Status status;
+
+    @Column(name = "archived_at")
+    private Instant archivedAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof ArchivedComplaint other && id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return ArchivedComplaint.class.hashCode();
+    }
+}
@@ -2,12 +2,15 @@ package com.complaints.entity;
 
 import com.complaints.entity.enums.Status;
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 
 import java.time.LocalDate;
 
-@Data
+@Getter
+@Setter
+@ToString
 @Entity
 @Table(name = "complaints")
 public class Complaint {
@@ -35,4 +38,22 @@ public class Complaint {
     @Column(name = "status")
     private Status status;
 
+    @Column(name = "description_simhash")
+    private Long simhash;
+
+    @Column(name = "duplicate_of")
+    private Long duplicateOf;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof Complaint other && id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Complaint.class.hashCode();
+    }
 }
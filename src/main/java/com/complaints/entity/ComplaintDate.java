@@ -0,0 +1,29 @@
+package com.complaints.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+
+/**
+ * The partition key of a complaint by id, maintained by triggers on the complaints table. Queries by id join through it
+ * so only the partition holding the complaint is read.
+ */
+@Getter
+@Entity
+@Immutable
+@Table(name = "complaint_dates")
+public class ComplaintDate {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "date")
+    private LocalDate date;
+
+}
@@ -1,11 +1,17 @@
 package com.complaints.entity;
 
 import jakarta.persistence.*;
-import lombok.Data;
-
-import java.util.List;
-
-@Data
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A customer's complaints are deliberately not mapped as a collection: they are read page by page through
+ * ComplaintRepository, so loading a customer never pulls in its whole history. Equality is by id.
+ */
+@Getter
+@Setter
+@ToString
 @Entity
 @Table(name = "customers")
 public class Customer {
@@ -21,9 +27,20 @@ public class Customer {
     @Column(name = "name")
     private String name;
 
+    @ToString.Exclude
     @Column(name = "password")
     private String password;
 
-    @OneToMany(mappedBy = "customer")
-    private List<Complaint> complaints;
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof Customer other && id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Customer.class.hashCode();
+    }
 }
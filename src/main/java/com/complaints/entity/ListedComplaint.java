@@ -0,0 +1,63 @@
+package com.complaints.entity;
+
+import com.complaints.entity.enums.Status;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.LocalDate;
+
+/**
+ * A live or archived complaint, read through the complaints_with_archive view so listings page over both in one order.
+ */
+@Getter
+@Setter
+@ToString
+@Entity
+@Immutable
+@Table(name = "complaints_with_archive")
+// Pending changes to either table are flushed before a query on the view
+@Synchronize({"complaints", "complaints_archive"})
+public class ListedComplaint {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_id", referencedColumnName = "id", nullable = false)
+    private Customer customer;
+
+    @Column(name = "date")
+    private LocalDate date;
+
+    @Column(name = "description")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private Status status;
+
+    @Column(name = "duplicate_of")
+    private Long duplicateOf;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof ListedComplaint other && id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return ListedComplaint.class.hashCode();
+    }
+}
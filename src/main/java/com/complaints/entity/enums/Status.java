@@ -1,5 +1,13 @@
 package com.complaints.entity.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum Status {
-    OPEN, IN_PROGRESS, REJECTED, ACCEPTED, CANCELED
+    OPEN, IN_PROGRESS, REJECTED, ACCEPTED, CANCELED;
+
+    /**
+     * Statuses in which a complaint can still be updated by its customer.
+     */
+    public static final Set<Status> MODIFIABLE = EnumSet.of(OPEN, IN_PROGRESS);
 }
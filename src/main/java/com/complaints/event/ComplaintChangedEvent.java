@@ -0,0 +1,7 @@
+package com.complaints.event;
+
+/**
+ * Published after a complaint is created, modified or moved. A null id means only listings are affected.
+ */
+public record ComplaintChangedEvent(Long complaintId) {
+}
@@ -0,0 +1,7 @@
+package com.complaints.event;
+
+/**
+ * Published after a complaint is created, in addition to {@link ComplaintChangedEvent}.
+ */
+public record ComplaintCreatedEvent(Long complaintId, Long productId) {
+}
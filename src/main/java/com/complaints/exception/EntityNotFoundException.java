@@ -3,18 +3,19 @@ package com.complaints.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+// Answered with 404 and never logged, so no stack trace is filled in
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class EntityNotFoundException extends RuntimeException {
 
     public EntityNotFoundException(String message) {
-        super(message);
+        super(message, null, true, false);
     }
 
     public EntityNotFoundException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, true, false);
     }
 
     public EntityNotFoundException(Throwable cause) {
-        super(cause);
+        super(cause == null ? null : cause.toString(), cause, true, false);
     }
 }
@@ -3,20 +3,22 @@ package com.complaints.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+// A 409 for the client, not a failure: created without a stack trace
 @ResponseStatus(HttpStatus.CONFLICT)
 public class UnableToModifyException extends RuntimeException {
     public UnableToModifyException() {
+        super(null, null, true, false);
     }
 
     public UnableToModifyException(String message) {
-        super(message);
+        super(message, null, true, false);
     }
 
     public UnableToModifyException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, true, false);
     }
 
     public UnableToModifyException(Throwable cause) {
-        super(cause);
+        super(cause == null ? null : cause.toString(), cause, true, false);
     }
 }
@@ -0,0 +1,84 @@
+package com.complaints.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes RFC 4180 CSV rows to a file channel through a direct buffer, so rows are copied to the file in large
+ * writes instead of one small write per field.
+ */
+public class CsvChannelWriter {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final StringBuilder line = new StringBuilder(256);
+
+    public CsvChannelWriter(FileChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    public void writeRow(Object... values) throws IOException {
+        line.setLength(0);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            appendField(values[i]);
+        }
+        line.append("\r\n");
+
+        byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > buffer.remaining()) {
+            flush();
+        }
+        if (bytes.length > buffer.capacity()) {
+            write(ByteBuffer.wrap(bytes));
+        } else {
+            buffer.put(bytes);
+        }
+    }
+
+    /**
+     * Writes the buffered rows to the channel and returns its position, which is the end of the last written row.
+     */
+    public long flush() throws IOException {
+        buffer.flip();
+        write(buffer);
+        buffer.clear();
+        return channel.position();
+    }
+
+    private void write(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    private void appendField(Object value) {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(text);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
@@ -0,0 +1,69 @@
+package com.complaints.export;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Properties;
+
+/**
+ * Progress of the export. {@code updatedAt} and {@code id} are the high-water mark: every row ordered before them
+ * has been written. While a run is in progress {@code cutoff} is set and {@code position} is the length of the
+ * partial file up to that mark; after a completed run the mark is (cutoff, 0) and cutoff is null.
+ */
+public record ExportCheckpoint(Instant updatedAt, long id, Instant cutoff, long position) {
+
+    public static final ExportCheckpoint INITIAL = new ExportCheckpoint(Instant.EPOCH, 0, null, 0);
+
+    public boolean inProgress() {
+        return cutoff != null;
+    }
+
+    public static ExportCheckpoint read(Path path) {
+        if (!Files.exists(path)) {
+            return INITIAL;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String cutoff = properties.getProperty("cutoff");
+        return new ExportCheckpoint(Instant.parse(properties.getProperty("updated-at")),
+                Long.parseLong(properties.getProperty("id")),
+                cutoff == null ? null : Instant.parse(cutoff),
+                Long.parseLong(properties.getProperty("position")));
+    }
+
+    /**
+     * Replaces the checkpoint file atomically, so a crash leaves either the old or the new checkpoint.
+     */
+    public void write(Path path) {
+        Properties properties = new Properties();
+        properties.setProperty("updated-at", updatedAt.toString());
+        properties.setProperty("id", String.valueOf(id));
+        properties.setProperty("position", String.valueOf(position));
+        if (cutoff != null) {
+            properties.setProperty("cutoff", cutoff.toString());
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp)) {
+                properties.store(writer, null);
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.complaints.imports;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Imports the file given by {@code complaints.import.file} on startup and then shuts the application down, with exit
+ * code 1 when any row was rejected. Only active in the {@code import} profile, which starts neither the web server nor
+ * the scheduled jobs.
+ */
+@Component
+@Profile("import")
+@ConditionalOnProperty(name = "complaints.import.file")
+public class ComplaintImportRunner implements CommandLineRunner {
+
+    private final ComplaintImporter importer;
+    private final ApplicationContext context;
+    private final Path file;
+
+    public ComplaintImportRunner(ComplaintImporter importer, ApplicationContext context,
+                                 @Value("${complaints.import.file}") Path file) {
+        this.importer = importer;
+        this.context = context;
+        this.file = file;
+    }
+
+    @Override
+    public void run(String... args) {
+        ImportResult result = importer.importFile(file, file.resolveSibling(file.getFileName() + ".errors.csv"));
+        System.exit(SpringApplication.exit(context, () -> result.rejected() == 0 ? 0 : 1));
+    }
+}
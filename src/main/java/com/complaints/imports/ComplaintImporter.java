@@ -0,0 +1,247 @@
+package com.complaints.imports;
+
+import com.complaints.dto.request.ComplaintCreateRequest;
+import com.complaints.duplicates.SimHash;
+import com.complaints.entity.enums.Status;
+import com.complaints.event.ComplaintChangedEvent;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk loads complaints from a CSV file with a header row containing customer_email, product_id, date, description
+ * and status. Rows are validated against the same constraints as {@link ComplaintCreateRequest}, customers are
+ * resolved from an in-memory email map, and accepted rows are sent with COPY in chunks. Rejected rows are written
+ * to an error file together with the reason. Duplicate detection does not run for imported rows.
+ */
+@Slf4j
+@Component
+public class ComplaintImporter {
+
+    static final List<String> COLUMNS = List.of("customer_email", "product_id", "date", "description", "status");
+    private static final String COPY_SQL = "COPY complaints (product_id, customer_id, date, description, status, description_simhash) FROM STDIN";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public ComplaintImporter(JdbcTemplate jdbcTemplate,
+                             Validator validator,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${complaints.import.chunk-size:50000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportResult importFile(Path csvFile, Path errorFile) {
+        long started = System.nanoTime();
+        Map<String, Long> customerIds = loadCustomerIds();
+        try (Reader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8);
+             BufferedWriter errors = Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8)) {
+            CsvRecordReader records = new CsvRecordReader(reader);
+            int[] positions = columnPositions(records.next());
+            errors.write("line,error," + String.join(",", COLUMNS));
+            errors.newLine();
+
+            Chunk chunk = new Chunk();
+            long imported = 0;
+            long rejected = 0;
+            String[] record;
+            while ((record = records.next()) != null) {
+                String[] values = new String[COLUMNS.size()];
+                for (int i = 0; i < positions.length; i++) {
+                    values[i] = positions[i] < record.length ? record[positions[i]] : null;
+                }
+                String error = chunk.add(records.recordLine(), values, customerIds);
+                if (error != null) {
+                    writeError(errors, records.recordLine(), error, values);
+                    rejected++;
+                } else if (chunk.size() == chunkSize) {
+                    long copied = copy(chunk, errors);
+                    imported += copied;
+                    rejected += chunk.size() - copied;
+                    chunk = new Chunk();
+                }
+            }
+            if (chunk.size() > 0) {
+                long copied = copy(chunk, errors);
+                imported += copied;
+                rejected += chunk.size() - copied;
+            }
+
+            if (imported > 0) {
+                eventPublisher.publishEvent(new ComplaintChangedEvent(null));
+            }
+            ImportResult result = new ImportResult(imported, rejected, (System.nanoTime() - started) / 1_000_000);
+            log.info("Imported {} complaints from {} at {} rows/s, rejected {} (see {})",
+                    result.imported(), csvFile, result.rowsPerSecond(), result.rejected(), errorFile);
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, Long> loadCustomerIds() {
+        Map<String, Long> customerIds = new HashMap<>();
+        jdbcTemplate.query("SELECT id, email FROM customers",
+                row -> {
+                    customerIds.put(row.getString("email").toLowerCase(Locale.ROOT), row.getLong("id"));
+                });
+        return customerIds;
+    }
+
+    private static int[] columnPositions(String[] header) {
+        if (header == null) {
+            throw new IllegalArgumentException("The file is empty, expected a header with " + COLUMNS);
+        }
+        List<String> names = Arrays.stream(header).map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+        int[] positions = new int[COLUMNS.size()];
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            positions[i] = names.indexOf(COLUMNS.get(i));
+            if (positions[i] < 0) {
+                throw new IllegalArgumentException("Missing column " + COLUMNS.get(i) + ", expected a header with " + COLUMNS);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Sends the chunk with one COPY, creating missing partitions for the months in the chunk first so rows do not land
+     * in the default partition. Only months that occur are created, so an outlier date does not create every month in
+     * between. A chunk the database rejects is written to the error file as a whole.
+     */
+    private long copy(Chunk chunk, BufferedWriter errors) throws IOException {
+        try {
+            for (LocalDate month : chunk.months) {
+                jdbcTemplate.queryForObject("SELECT create_complaints_partitions(?, ?)", Integer.class, month, month);
+            }
+            byte[] data = chunk.copyData.toString().getBytes(StandardCharsets.UTF_8);
+            return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+                try {
+                    copyIn.writeToCopy(data, 0, data.length);
+                    return copyIn.endCopy();
+                } finally {
+                    if (copyIn.isActive()) {
+                        copyIn.cancelCopy();
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Chunk of {} rows starting on line {} was rejected", chunk.size(), chunk.lines.get(0), e);
+            String reason = "COPY failed: " + e.getMessage();
+            for (int i = 0; i < chunk.size(); i++) {
+                writeError(errors, chunk.lines.get(i), reason, chunk.values.get(i));
+            }
+            return 0;
+        }
+    }
+
+    private static void writeError(BufferedWriter errors, long line, String error, String[] values) throws IOException {
+        StringBuilder row = new StringBuilder().append(line).append(',').append(quote(error));
+        for (String value : values) {
+            row.append(',').append(quote(value));
+        }
+        errors.write(row.toString());
+        errors.newLine();
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Accepted rows in COPY text format, plus the original values in case the database rejects the chunk.
+     */
+    private class Chunk {
+
+        private final StringBuilder copyData = new StringBuilder();
+        private final List<Long> lines = new ArrayList<>();
+        private final List<String[]> values = new ArrayList<>();
+        private final Set<LocalDate> months = new TreeSet<>();
+
+        /**
+         * Adds the row if it is valid and returns null, or returns why it was rejected.
+         */
+        private String add(long line, String[] row, Map<String, Long> customerIds) {
+            Long customerId = row[0] == null ? null : customerIds.get(row[0].trim().toLowerCase(Locale.ROOT));
+            if (customerId == null) {
+                return "Unknown customer email";
+            }
+            ComplaintCreateRequest request = new ComplaintCreateRequest();
+            try {
+                request.setProductId(row[1] == null || row[1].isBlank() ? null : Long.valueOf(row[1].trim()));
+                request.setDate(row[2] == null || row[2].isBlank() ? null : LocalDate.parse(row[2].trim()));
+                request.setDescription(row[3]);
+                request.setStatus(row[4] == null || row[4].isBlank() ? null : Status.valueOf(row[4].trim().toUpperCase(Locale.ROOT)));
+            } catch (RuntimeException e) {
+                return "Unparsable value: " + e.getMessage();
+            }
+            Set<ConstraintViolation<ComplaintCreateRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+            }
+
+            copyData.append(request.getProductId()).append('\t')
+                    .append(customerId).append('\t')
+                    .append(request.getDate()).append('\t');
+            appendEscaped(request.getDescription());
+            copyData.append('\t').append(request.getStatus().name())
+                    .append('\t').append(SimHash.of(request.getDescription()))
+                    .append('\n');
+            lines.add(line);
+            values.add(row);
+            months.add(request.getDate().withDayOfMonth(1));
+            return null;
+        }
+
+        private int size() {
+            return lines.size();
+        }
+
+        private void appendEscaped(String text) {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\' -> copyData.append("\\\\");
+                    case '\t' -> copyData.append("\\t");
+                    case '\n' -> copyData.append("\\n");
+                    case '\r' -> copyData.append("\\r");
+                    default -> copyData.append(c);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.complaints.imports;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 parser: reads one record at a time, so files of any size are parsed in constant memory.
+ * Quoted fields may contain separators, doubled quotes and line breaks.
+ */
+public class CsvRecordReader {
+
+    private final Reader reader;
+    private final char[] buffer = new char[64 * 1024];
+    private final StringBuilder field = new StringBuilder();
+    private int length;
+    private int offset;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the fields of the next record, or null at the end of the input. Blank lines are skipped.
+     */
+    public String[] next() throws IOException {
+        int c = read();
+        while (c == '\n' || c == '\r') {
+            if (c == '\n') {
+                line++;
+            }
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean fieldStart = true;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field in record starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                c = read();
+                continue;
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields.toArray(String[]::new);
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            fieldStart = false;
+            c = read();
+        }
+    }
+
+    /**
+     * Line on which the record last returned by {@link #next()} starts.
+     */
+    public long recordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        if (offset == length) {
+            length = reader.read(buffer);
+            offset = 0;
+            if (length <= 0) {
+                length = 0;
+                return -1;
+            }
+        }
+        return buffer[offset++];
+    }
+}
@@ -0,0 +1,8 @@
+package com.complaints.imports;
+
+public record ImportResult(long imported, long rejected, long millis) {
+
+    public long rowsPerSecond() {
+        return millis == 0 ? imported : imported * 1000 / millis;
+    }
+}
@@ -0,0 +1,107 @@
+package com.complaints.job;
+
+import com.complaints.entity.enums.Status;
+import com.complaints.event.ComplaintChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Moves complaints in a terminal status that are older than the configured age from the hot table into
+ * complaints_archive, one batch per transaction. The last archived id is stored in archive_cursor so an
+ * interrupted run resumes where it stopped instead of rescanning old rows that are still open.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "complaints.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class ComplaintArchiveJob {
+
+    private static final String JOB_NAME = "complaints";
+    private static final Set<Status> TERMINAL_STATUSES = EnumSet.of(Status.ACCEPTED, Status.REJECTED, Status.CANCELED);
+
+    private static final String MOVE_BATCH_SQL = """
+            WITH batch AS (SELECT id, date
+                           FROM complaints
+                           WHERE id > ?
+                             AND date < ?
+                             AND status IN (%s)
+                           ORDER BY id
+                           LIMIT ?),
+                 moved AS (DELETE FROM complaints c
+                               USING batch b
+                               WHERE c.id = b.id AND c.date = b.date
+                               RETURNING c.id, c.product_id, c.customer_id, c.date, c.description, c.status)
+            INSERT
+            INTO complaints_archive (id, product_id, customer_id, date, description, status)
+            SELECT id, product_id, customer_id, date, description, status
+            FROM moved
+            RETURNING id
+            """.formatted(TERMINAL_STATUSES.stream()
+            .map(status -> "'" + status.name() + "'")
+            .collect(Collectors.joining(", ")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration minAge;
+    private final int batchSize;
+
+    public ComplaintArchiveJob(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${complaints.archive.min-age:365d}") Duration minAge,
+                               @Value("${complaints.archive.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${complaints.archive.cron:0 0 2 * * *}")
+    public void archive() {
+        LocalDate cutoff = LocalDate.now().minusDays(minAge.toDays());
+        Long cursor = jdbcTemplate.queryForObject("SELECT last_id FROM archive_cursor WHERE job = ?", Long.class, JOB_NAME);
+        log.info("Archiving complaints dated before {} starting after id {}", cutoff, cursor);
+
+        long archived = 0;
+        List<Long> batch;
+        do {
+            batch = moveBatch(cursor, cutoff);
+            if (!batch.isEmpty()) {
+                cursor = Collections.max(batch);
+                archived += batch.size();
+            }
+        } while (batch.size() == batchSize);
+
+        jdbcTemplate.update("UPDATE archive_cursor SET last_id = 0, updated_at = now() WHERE job = ?", JOB_NAME);
+        log.info("Archived {} complaints", archived);
+        if (archived > 0) {
+            eventPublisher.publishEvent(new ComplaintChangedEvent(null));
+        }
+    }
+
+    private List<Long> moveBatch(long cursor, LocalDate cutoff) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(MOVE_BATCH_SQL, Long.class, cursor, cutoff, batchSize);
+            if (!ids.isEmpty()) {
+                jdbcTemplate.update("UPDATE archive_cursor SET last_id = ?, updated_at = now() WHERE job = ?",
+                        Collections.max(ids), JOB_NAME);
+            }
+            return ids;
+        });
+    }
+}
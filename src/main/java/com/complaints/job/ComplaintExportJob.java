@@ -0,0 +1,155 @@
+package com.complaints.job;
+
+import com.complaints.export.CsvChannelWriter;
+import com.complaints.export.ExportCheckpoint;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes complaints created or changed since the previous run to a CSV file in the export directory, one file per
+ * run. Rows are streamed through a server-side cursor in (updated_at, id) order up to a cutoff slightly in the past,
+ * so transactions still in flight are picked up by the next run. Progress is checkpointed next to the files; a run
+ * that crashed is resumed from its last checkpoint into the same file.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "complaints.export.enabled", havingValue = "true")
+public class ComplaintExportJob {
+
+    static final String CHECKPOINT_FILE = "export.checkpoint";
+    private static final String[] HEADER = {"id", "product_id", "customer_id", "date", "description", "status", "duplicate_of", "updated_at"};
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private static final String CHANGED_ROWS_SQL = """
+            SELECT id, product_id, customer_id, date, description, status, duplicate_of, updated_at
+            FROM complaints
+            WHERE (updated_at, id) > (?, ?)
+              AND updated_at < ?
+            ORDER BY updated_at, id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Path directory;
+    private final Duration settle;
+    private final int fetchSize;
+    private final int checkpointRows;
+
+    public ComplaintExportJob(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${complaints.export.directory:data/export}") Path directory,
+                              @Value("${complaints.export.settle:5m}") Duration settle,
+                              @Value("${complaints.export.fetch-size:1000}") int fetchSize,
+                              @Value("${complaints.export.checkpoint-rows:50000}") int checkpointRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.directory = directory;
+        this.settle = settle;
+        this.fetchSize = fetchSize;
+        this.checkpointRows = checkpointRows;
+    }
+
+    @Scheduled(cron = "${complaints.export.cron:0 30 1 * * *}")
+    public void scheduledExport() {
+        export();
+    }
+
+    /**
+     * Runs or resumes an export and returns the number of rows written by this call.
+     */
+    public synchronized long export() {
+        try {
+            Files.createDirectories(directory);
+            Path checkpointFile = directory.resolve(CHECKPOINT_FILE);
+            ExportCheckpoint checkpoint = ExportCheckpoint.read(checkpointFile);
+            if (!checkpoint.inProgress()) {
+                Instant now = jdbcTemplate.queryForObject("SELECT now()", OffsetDateTime.class).toInstant();
+                checkpoint = new ExportCheckpoint(checkpoint.updatedAt(), checkpoint.id(), now.minus(settle), 0);
+                checkpoint.write(checkpointFile);
+            } else {
+                log.info("Resuming export up to {} after ({}, {})", checkpoint.cutoff(), checkpoint.updatedAt(), checkpoint.id());
+            }
+
+            Path file = directory.resolve("complaints-" + FILE_TIMESTAMP.format(checkpoint.cutoff()) + ".csv");
+            Path partFile = file.resolveSibling(file.getFileName() + ".part");
+            long written = 0;
+            // A crash between the rename and the final checkpoint leaves a complete file and no part file
+            if (!Files.exists(file) || Files.exists(partFile)) {
+                written = writeChanges(checkpoint, partFile, checkpointFile);
+                Files.move(partFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            new ExportCheckpoint(checkpoint.cutoff(), 0, null, 0).write(checkpointFile);
+            log.info("Exported {} changed complaints to {}", written, file);
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long writeChanges(ExportCheckpoint start, Path partFile, Path checkpointFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(partFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Anything after the last checkpoint was written by a run that crashed and is written again
+            channel.truncate(start.position());
+            channel.position(start.position());
+            CsvChannelWriter writer = new CsvChannelWriter(channel, BUFFER_SIZE);
+            if (start.position() == 0) {
+                writer.writeRow((Object[]) HEADER);
+            }
+
+            long[] written = {0};
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(CHANGED_ROWS_SQL);
+                statement.setFetchSize(fetchSize);
+                statement.setObject(1, start.updatedAt().atOffset(ZoneOffset.UTC));
+                statement.setLong(2, start.id());
+                statement.setObject(3, start.cutoff().atOffset(ZoneOffset.UTC));
+                return statement;
+            }, (ResultSet row) -> {
+                try {
+                    Instant updatedAt = writeRow(writer, row);
+                    if (++written[0] % checkpointRows == 0) {
+                        long position = writer.flush();
+                        channel.force(false);
+                        new ExportCheckpoint(updatedAt, row.getLong("id"), start.cutoff(), position).write(checkpointFile);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            writer.flush();
+            channel.force(false);
+            return written[0];
+        }
+    }
+
+    private static Instant writeRow(CsvChannelWriter writer, ResultSet row) throws SQLException, IOException {
+        Instant updatedAt = row.getObject("updated_at", OffsetDateTime.class).toInstant();
+        Long duplicateOf = row.getObject("duplicate_of", Long.class);
+        writer.writeRow(row.getLong("id"), row.getLong("product_id"), row.getLong("customer_id"),
+                row.getDate("date").toLocalDate(), row.getString("description"), row.getString("status"),
+                duplicateOf, updatedAt);
+        return updatedAt;
+    }
+}
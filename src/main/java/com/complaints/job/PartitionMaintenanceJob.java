@@ -0,0 +1,57 @@
+package com.complaints.job;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps monthly partitions of the complaints table created ahead of time and, when a retention period is set,
+ * moves partitions that fall out of it into complaints_archive.
+ */
+@Slf4j
+@Component
+public class PartitionMaintenanceJob {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public PartitionMaintenanceJob(JdbcTemplate jdbcTemplate,
+                                   @Value("${complaints.partitioning.months-ahead:3}") int monthsAhead,
+                                   @Value("${complaints.partitioning.retention-months:0}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${complaints.partitioning.maintenance-cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        // Runs at startup too; a failure is logged and retried on the next run instead of stopping the application
+        LocalDate today = LocalDate.now();
+        try {
+            Integer created = jdbcTemplate.queryForObject("SELECT create_complaints_partitions(?, ?)", Integer.class,
+                    today, today.plusMonths(monthsAhead));
+            log.info("Created {} complaint partitions up to {} months ahead", created, monthsAhead);
+        } catch (DataAccessException e) {
+            log.error("Creating complaint partitions up to {} months ahead failed", monthsAhead, e);
+        }
+
+        if (retentionMonths > 0) {
+            LocalDate olderThan = today.withDayOfMonth(1).minusMonths(retentionMonths);
+            try {
+                Integer detached = jdbcTemplate.queryForObject("SELECT detach_complaints_partitions(?)", Integer.class, olderThan);
+                log.info("Moved {} complaint partitions older than {} to the archive", detached, olderThan);
+            } catch (DataAccessException e) {
+                log.error("Moving complaint partitions older than {} to the archive failed", olderThan, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.complaints.job;
+
+import com.complaints.duplicates.SimHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Computes the description SimHash of complaints stored before duplicate detection existed, so they can be found
+ * as duplicates too. Setting the signature also fills description_bands through the trigger, and leaves updated_at
+ * alone, so the rows are not exported again. Runs once per start in batches, unless scheduled jobs are turned off;
+ * when nothing is missing it costs one lookup on an empty partial index.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "complaints.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SimHashBackfillJob {
+
+    private static final String MISSING_SQL =
+            "SELECT id, date, description FROM complaints WHERE description_simhash IS NULL ORDER BY id, date LIMIT ?";
+    private static final String UPDATE_SQL = "UPDATE complaints SET description_simhash = ? WHERE id = ? AND date = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public SimHashBackfillJob(JdbcTemplate jdbcTemplate,
+                              @Value("${complaints.duplicates.backfill-batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long backfilled = 0;
+        List<Object[]> batch;
+        do {
+            batch = jdbcTemplate.query(MISSING_SQL, (rs, rowNum) -> new Object[]{
+                    SimHash.of(rs.getString("description")), rs.getLong("id"), rs.getDate("date")}, batchSize);
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+                backfilled += batch.size();
+            }
+        } while (batch.size() == batchSize);
+        if (backfilled > 0) {
+            log.info("Computed the description SimHash of {} complaints", backfilled);
+        }
+    }
+}
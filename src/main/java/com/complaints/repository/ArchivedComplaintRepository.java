@@ -0,0 +1,17 @@
+package com.complaints.repository;
+
+import com.complaints.entity.ArchivedComplaint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedComplaintRepository extends JpaRepository<ArchivedComplaint, Long> {
+
+    @Query("SELECT c FROM ArchivedComplaint c JOIN FETCH c.customer WHERE c.id IN :ids")
+    List<ArchivedComplaint> findAllWithCustomerByIdIn(Collection<Long> ids);
+
+}
@@ -0,0 +1,19 @@
+package com.complaints.repository;
+
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface ComplaintProjectionRepository {
+
+    Set<String> PROJECTABLE_FIELDS = Set.of("id", "productId", "customer", "date", "description", "status");
+
+    /**
+     * Live and archived complaints, restricted to dates from..to when either bound is given.
+     */
+    List<Map<String, Object>> findAllFields(Set<String> fields, LocalDate from, LocalDate to, Pageable pageable);
+
+}
@@ -0,0 +1,85 @@
+package com.complaints.repository;
+
+import com.complaints.entity.Customer;
+import com.complaints.entity.ListedComplaint;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selects only the requested columns of live and archived complaints as tuples, joining customers only when the customer
+ * field is requested.
+ */
+public class ComplaintProjectionRepositoryImpl implements ComplaintProjectionRepository {
+
+    private static final String CUSTOMER = "customer";
+    private static final String DATE = "date";
+    private static final String CUSTOMER_EMAIL = "customerEmail";
+    private static final String CUSTOMER_NAME = "customerName";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findAllFields(Set<String> fields, LocalDate from, LocalDate to, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ListedComplaint> root = query.from(ListedComplaint.class);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size() + 1);
+        for (String field : fields) {
+            if (CUSTOMER.equals(field)) {
+                Join<ListedComplaint, Customer> customer = root.join(CUSTOMER);
+                selections.add(customer.get("email").alias(CUSTOMER_EMAIL));
+                selections.add(customer.get("name").alias(CUSTOMER_NAME));
+            } else {
+                selections.add(root.get(field).alias(field));
+            }
+        }
+        query.multiselect(selections);
+        List<Predicate> dateRange = new ArrayList<>(2);
+        if (from != null) {
+            dateRange.add(cb.greaterThanOrEqualTo(root.get(DATE), from));
+        }
+        if (to != null) {
+            dateRange.add(cb.lessThanOrEqualTo(root.get(DATE), to));
+        }
+        query.where(dateRange.toArray(Predicate[]::new));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        List<Tuple> tuples = typedQuery.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                if (CUSTOMER.equals(field)) {
+                    Map<String, Object> customer = new LinkedHashMap<>();
+                    customer.put("email", tuple.get(CUSTOMER_EMAIL));
+                    customer.put("name", tuple.get(CUSTOMER_NAME));
+                    row.put(CUSTOMER, customer);
+                } else {
+                    row.put(field, tuple.get(field));
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
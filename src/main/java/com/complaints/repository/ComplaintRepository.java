@@ -1,9 +1,51 @@
 package com.complaints.repository;
 
 import com.complaints.entity.Complaint;
+import com.complaints.entity.enums.Status;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
+public interface ComplaintRepository extends JpaRepository<Complaint, Long>, ComplaintProjectionRepository {
+
+    // Lookups by id resolve the partition key through complaint_dates first, see V10__index_complaint_dates_by_id.sql
+    String BY_ID_WITH_DATE = "FROM ComplaintDate d JOIN Complaint c ON c.id = d.id AND c.date = d.date ";
+    String DATE_OF_ID = "(SELECT d.date FROM ComplaintDate d WHERE d.id = :id)";
+
+    @Override
+    @Query("SELECT c " + BY_ID_WITH_DATE + "WHERE d.id = :id")
+    Optional<Complaint> findById(Long id);
+
+    @Override
+    @Query("SELECT CASE WHEN COUNT(c) > 0 THEN true ELSE false END " + BY_ID_WITH_DATE + "WHERE d.id = :id")
+    boolean existsById(Long id);
+
+    @Query("SELECT c " + BY_ID_WITH_DATE + "JOIN FETCH c.customer WHERE d.id IN :ids")
+    List<Complaint> findAllWithCustomerByIdIn(Collection<Long> ids);
+
+    @Query(value = "SELECT * FROM complaints WHERE customer_id = :customerId AND product_id = :productId AND date >= :since " +
+            "AND status IN ('OPEN', 'IN_PROGRESS') " +
+            "AND description_bands && complaint_simhash_bands(CAST(:simhash AS BIGINT)) " +
+            "ORDER BY id DESC LIMIT :limit", nativeQuery = true)
+    List<Complaint> findDuplicateCandidates(Long customerId, Long productId, long simhash, LocalDate since, int limit);
+
+    @Query("SELECT c.status FROM Complaint c WHERE c.id = :id AND c.date = " + DATE_OF_ID + " AND c.customer.id = :customerId")
+    Optional<Status> findStatusByIdAndCustomerId(Long id, Long customerId);
+
+    @Modifying
+    @Query("UPDATE Complaint c SET c.productId = :productId, c.description = :description, c.simhash = :simhash, c.status = :status " +
+            "WHERE c.id = :id AND c.date = " + DATE_OF_ID + " AND c.customer.id = :customerId AND c.status IN :currentStatuses")
+    int updateByIdAndCustomerId(Long id, Long customerId, Collection<Status> currentStatuses, Long productId, String description, Long simhash, Status status);
+
+    @Modifying
+    @Query("UPDATE Complaint c SET c.status = :status WHERE c.id = :id AND c.date = " + DATE_OF_ID + " AND c.customer.id = :customerId")
+    int updateStatusByIdAndCustomerId(Long id, Long customerId, Status status);
+
 }
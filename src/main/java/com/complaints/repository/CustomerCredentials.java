@@ -0,0 +1,7 @@
+package com.complaints.repository;
+
+/**
+ * What authentication needs of a customer, selected column by column instead of loading the entity.
+ */
+public record CustomerCredentials(Long id, String email, String password) {
+}
@@ -2,6 +2,7 @@ package com.complaints.repository;
 
 import com.complaints.entity.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -10,7 +11,12 @@ import java.util.Optional;
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
-    @Query("SELECT c FROM Customer c LEFT JOIN FETCH c.complaints WHERE c.email = :email")
-    Optional<Customer> findByEmail(String email);
+    Optional<CustomerCredentials> findCredentialsByEmail(String email);
+
+    Optional<CustomerSummary> findSummaryById(Long id);
+
+    @Modifying
+    @Query("UPDATE Customer c SET c.password = :password WHERE c.email = :email")
+    int updatePassword(String email, String password);
 
 }
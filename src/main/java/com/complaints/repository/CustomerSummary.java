@@ -0,0 +1,7 @@
+package com.complaints.repository;
+
+/**
+ * Read model of a customer without its credentials, selected column by column instead of loading the entity.
+ */
+public record CustomerSummary(Long id, String email, String name) {
+}
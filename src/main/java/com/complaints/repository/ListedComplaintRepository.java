@@ -0,0 +1,26 @@
+package com.complaints.repository;
+
+import com.complaints.entity.ListedComplaint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ListedComplaintRepository extends JpaRepository<ListedComplaint, Long> {
+
+    List<ListedComplaint> findByDateBetween(LocalDate from, LocalDate to, Pageable pageable);
+
+    // Both tables are indexed on (customer_id, date, id), so a page is a merge of two index scans
+    @Query(value = "SELECT * FROM complaints_with_archive WHERE customer_id = :customerId " +
+            "ORDER BY date DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<ListedComplaint> findLatestByCustomerId(Long customerId, int limit);
+
+    @Query(value = "SELECT * FROM complaints_with_archive WHERE customer_id = :customerId AND (date, id) < (:date, :id) " +
+            "ORDER BY date DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<ListedComplaint> findLatestByCustomerIdBefore(Long customerId, LocalDate date, Long id, int limit);
+
+}
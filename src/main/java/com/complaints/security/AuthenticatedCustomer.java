@@ -0,0 +1,22 @@
+package com.complaints.security;
+
+import com.complaints.service.TokenService;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+public final class AuthenticatedCustomer {
+
+    private AuthenticatedCustomer() {
+    }
+
+    public static Long id() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof Jwt jwt) {
+            Number customerId = jwt.getClaim(TokenService.CUSTOMER_ID_CLAIM);
+            return customerId.longValue();
+        }
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        return userDetails.customerId();
+    }
+}
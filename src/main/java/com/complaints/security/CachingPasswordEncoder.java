@@ -0,0 +1,76 @@
+package com.complaints.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Remembers successful verifications for a short window so the delegate's KDF cost is not paid on every request.
+ * Entries are keyed by an HMAC (per-process random key) of the stored hash and the presented password.
+ */
+public class CachingPasswordEncoder implements PasswordEncoder {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final PasswordEncoder delegate;
+    private final SecretKeySpec key;
+    private final Cache<String, Boolean> verified;
+
+    public CachingPasswordEncoder(PasswordEncoder delegate, Duration ttl, long maximumSize) {
+        this.delegate = delegate;
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.verified = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+        String fingerprint = fingerprint(rawPassword, encodedPassword);
+        if (verified.getIfPresent(fingerprint) != null) {
+            return true;
+        }
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        if (matches) {
+            verified.put(fingerprint, Boolean.TRUE);
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private String fingerprint(CharSequence rawPassword, String encodedPassword) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            mac.update(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to compute credential fingerprint", e);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.complaints.security;
 
-import com.complaints.entity.Customer;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -8,7 +7,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Collection;
 import java.util.List;
 
-public record UserDetailsImpl(Customer customer) implements UserDetails {
+public record UserDetailsImpl(Long customerId, String email, String password) implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -17,12 +16,12 @@ public record UserDetailsImpl(Customer customer) implements UserDetails {
 
     @Override
     public String getPassword() {
-        return customer.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return customer.getEmail();
+        return email;
     }
 
 }
@@ -2,19 +2,38 @@ package com.complaints.service;
 
 import com.complaints.dto.request.ComplaintCreateRequest;
 import com.complaints.dto.request.ComplaintUpdateRequest;
+import com.complaints.dto.response.ComplaintBatchResponse;
+import com.complaints.dto.response.ComplaintPageResponse;
 import com.complaints.dto.response.ComplaintResponse;
 import org.springframework.data.domain.PageRequest;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public interface ComplaintService {
 
+    int MAX_BATCH_SIZE = 500;
+
     List<ComplaintResponse> findAll(PageRequest pageRequest);
 
     List<ComplaintResponse> findAll();
 
+    List<Map<String, Object>> findAllFields(Set<String> fields, PageRequest pageRequest);
+
+    List<Map<String, Object>> findAllFields(Set<String> fields);
+
+    List<ComplaintResponse> search(LocalDate from, LocalDate to, PageRequest pageRequest);
+
+    List<Map<String, Object>> searchFields(Set<String> fields, LocalDate from, LocalDate to, PageRequest pageRequest);
+
     ComplaintResponse findById(Long id);
 
+    ComplaintBatchResponse findAllById(List<Long> ids);
+
+    ComplaintPageResponse findByAuthenticatedCustomer(String cursor, int size);
+
     ComplaintResponse save(ComplaintCreateRequest request);
 
     void deleteById(Long id);
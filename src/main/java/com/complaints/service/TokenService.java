@@ -0,0 +1,12 @@
+package com.complaints.service;
+
+import com.complaints.dto.response.TokenResponse;
+import org.springframework.security.core.Authentication;
+
+public interface TokenService {
+
+    String CUSTOMER_ID_CLAIM = "customer_id";
+
+    TokenResponse issue(Authentication authentication);
+
+}
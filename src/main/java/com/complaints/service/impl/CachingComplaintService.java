@@ -0,0 +1,132 @@
+package com.complaints.service.impl;
+
+import com.complaints.cache.ComplaintCache;
+import com.complaints.dto.request.ComplaintCreateRequest;
+import com.complaints.dto.request.ComplaintUpdateRequest;
+import com.complaints.dto.response.ComplaintBatchResponse;
+import com.complaints.dto.response.ComplaintPageResponse;
+import com.complaints.dto.response.ComplaintResponse;
+import com.complaints.service.ComplaintService;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serves complaint reads from {@link ComplaintCache} and passes everything else to the delegate.
+ * Caller-specific reads are not cached, and neither is the unpaged listing, which grows with the table.
+ */
+public class CachingComplaintService implements ComplaintService {
+
+    private final ComplaintService delegate;
+    private final ComplaintCache cache;
+
+    public CachingComplaintService(ComplaintService delegate, ComplaintCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public List<ComplaintResponse> findAll(PageRequest pageRequest) {
+        return cache.getListing("page:" + pageKey(pageRequest), () -> delegate.findAll(pageRequest));
+    }
+
+    @Override
+    public List<ComplaintResponse> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllFields(Set<String> fields, PageRequest pageRequest) {
+        return delegate.findAllFields(fields, pageRequest);
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllFields(Set<String> fields) {
+        return delegate.findAllFields(fields);
+    }
+
+    @Override
+    public List<ComplaintResponse> search(LocalDate from, LocalDate to, PageRequest pageRequest) {
+        return cache.getListing("search:" + from + ":" + to + ":" + pageKey(pageRequest), () -> delegate.search(from, to, pageRequest));
+    }
+
+    @Override
+    public List<Map<String, Object>> searchFields(Set<String> fields, LocalDate from, LocalDate to, PageRequest pageRequest) {
+        return delegate.searchFields(fields, from, to, pageRequest);
+    }
+
+    @Override
+    public ComplaintResponse findById(Long id) {
+        return cache.getComplaint(id, () -> delegate.findById(id));
+    }
+
+    @Override
+    public ComplaintBatchResponse findAllById(List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.isEmpty() || requested.size() > MAX_BATCH_SIZE) {
+            return delegate.findAllById(ids);
+        }
+
+        Map<Long, ComplaintResponse> found = new HashMap<>(requested.size());
+        List<Long> uncached = new ArrayList<>();
+        for (Long id : requested) {
+            ComplaintResponse complaint = cache.peekComplaint(id);
+            if (complaint == null) {
+                uncached.add(id);
+            } else {
+                found.put(id, complaint);
+            }
+        }
+        if (uncached.isEmpty()) {
+            return new ComplaintBatchResponse(ordered(requested, found), List.of());
+        }
+
+        ComplaintBatchResponse loaded = delegate.findAllById(uncached);
+        for (ComplaintResponse complaint : loaded.complaints()) {
+            cache.putComplaint(complaint.getId(), complaint);
+            found.put(complaint.getId(), complaint);
+        }
+        return new ComplaintBatchResponse(ordered(requested, found), loaded.missingIds());
+    }
+
+    @Override
+    public ComplaintPageResponse findByAuthenticatedCustomer(String cursor, int size) {
+        return delegate.findByAuthenticatedCustomer(cursor, size);
+    }
+
+    @Override
+    public ComplaintResponse save(ComplaintCreateRequest request) {
+        return delegate.save(request);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public ComplaintResponse update(Long id, ComplaintUpdateRequest updateRequest) {
+        return delegate.update(id, updateRequest);
+    }
+
+    private static List<ComplaintResponse> ordered(Set<Long> requested, Map<Long, ComplaintResponse> found) {
+        List<ComplaintResponse> complaints = new ArrayList<>(found.size());
+        for (Long id : requested) {
+            ComplaintResponse complaint = found.get(id);
+            if (complaint != null) {
+                complaints.add(complaint);
+            }
+        }
+        return complaints;
+    }
+
+    private static String pageKey(PageRequest pageRequest) {
+        return pageRequest.getPageNumber() + ":" + pageRequest.getPageSize() + ":" + pageRequest.getSort();
+    }
+}
@@ -0,0 +1,99 @@
+package com.complaints.service.impl;
+
+import com.complaints.cache.RequestCoalescer;
+import com.complaints.dto.request.ComplaintCreateRequest;
+import com.complaints.dto.request.ComplaintUpdateRequest;
+import com.complaints.dto.response.ComplaintBatchResponse;
+import com.complaints.dto.response.ComplaintPageResponse;
+import com.complaints.dto.response.ComplaintResponse;
+import com.complaints.service.ComplaintService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shares one delegate call between concurrent identical reads. Writes go straight to the delegate.
+ */
+public class CoalescingComplaintService implements ComplaintService {
+
+    private final ComplaintService delegate;
+    private final RequestCoalescer coalescer;
+
+    public CoalescingComplaintService(ComplaintService delegate, RequestCoalescer coalescer) {
+        this.delegate = delegate;
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    public List<ComplaintResponse> findAll(PageRequest pageRequest) {
+        return coalescer.execute(key("findAll", pageRequest), () -> delegate.findAll(pageRequest));
+    }
+
+    @Override
+    public List<ComplaintResponse> findAll() {
+        return coalescer.execute(key("findAll"), delegate::findAll);
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllFields(Set<String> fields, PageRequest pageRequest) {
+        return coalescer.execute(key("findAllFields", fields, pageRequest), () -> delegate.findAllFields(fields, pageRequest));
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllFields(Set<String> fields) {
+        return coalescer.execute(key("findAllFields", fields), () -> delegate.findAllFields(fields));
+    }
+
+    @Override
+    public List<ComplaintResponse> search(LocalDate from, LocalDate to, PageRequest pageRequest) {
+        return coalescer.execute(key("search", from, to, pageRequest), () -> delegate.search(from, to, pageRequest));
+    }
+
+    @Override
+    public List<Map<String, Object>> searchFields(Set<String> fields, LocalDate from, LocalDate to, PageRequest pageRequest) {
+        return coalescer.execute(key("searchFields", fields, from, to, pageRequest), () -> delegate.searchFields(fields, from, to, pageRequest));
+    }
+
+    @Override
+    public ComplaintResponse findById(Long id) {
+        return coalescer.execute(key("findById", id), () -> delegate.findById(id));
+    }
+
+    @Override
+    public ComplaintBatchResponse findAllById(List<Long> ids) {
+        return coalescer.execute(key("findAllById", ids), () -> delegate.findAllById(ids));
+    }
+
+    @Override
+    public ComplaintPageResponse findByAuthenticatedCustomer(String cursor, int size) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String caller = authentication == null ? null : authentication.getName();
+        return coalescer.execute(key("findByAuthenticatedCustomer", caller, cursor, size),
+                () -> delegate.findByAuthenticatedCustomer(cursor, size));
+    }
+
+    @Override
+    public ComplaintResponse save(ComplaintCreateRequest request) {
+        return delegate.save(request);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public ComplaintResponse update(Long id, ComplaintUpdateRequest updateRequest) {
+        return delegate.update(id, updateRequest);
+    }
+
+    private static List<Object> key(Object... parts) {
+        return Arrays.asList(parts);
+    }
+}
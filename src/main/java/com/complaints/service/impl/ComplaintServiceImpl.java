@@ -1,100 +1,253 @@
 package com.complaints.service.impl;
 
+import com.complaints.dto.ComplaintCursor;
+import com.complaints.duplicates.DuplicateDetector;
+import com.complaints.duplicates.SimHash;
 import com.complaints.dto.request.ComplaintCreateRequest;
 import com.complaints.dto.request.ComplaintUpdateRequest;
+import com.complaints.dto.response.ComplaintBatchResponse;
+import com.complaints.dto.response.ComplaintPageResponse;
 import com.complaints.dto.response.ComplaintResponse;
 import com.complaints.dto.response.CustomerResponse;
+import com.complaints.entity.ArchivedComplaint;
 import com.complaints.entity.Complaint;
-import com.complaints.entity.Customer;
+import com.complaints.entity.ListedComplaint;
 import com.complaints.entity.enums.Status;
+import com.complaints.event.ComplaintChangedEvent;
+import com.complaints.event.ComplaintCreatedEvent;
 import com.complaints.exception.EntityNotFoundException;
+import com.complaints.exception.InvalidRequestException;
 import com.complaints.exception.UnableToModifyException;
+import com.complaints.repository.ArchivedComplaintRepository;
+import com.complaints.repository.ComplaintProjectionRepository;
 import com.complaints.repository.ComplaintRepository;
-import com.complaints.security.UserDetailsImpl;
+import com.complaints.repository.CustomerRepository;
+import com.complaints.repository.ListedComplaintRepository;
+import com.complaints.security.AuthenticatedCustomer;
 import com.complaints.service.ComplaintService;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.EnumSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 @Slf4j
 @Service
 public class ComplaintServiceImpl implements ComplaintService {
 
+    private static final LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final ComplaintRepository repo;
+    private final ArchivedComplaintRepository archiveRepo;
+    private final ListedComplaintRepository listingRepo;
+    private final CustomerRepository customerRepo;
     private final ModelMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DuplicateDetector duplicateDetector;
 
-    public ComplaintServiceImpl(ComplaintRepository repo, ModelMapper mapper) {
+    public ComplaintServiceImpl(ComplaintRepository repo, ArchivedComplaintRepository archiveRepo, ListedComplaintRepository listingRepo,
+                                CustomerRepository customerRepo, ModelMapper mapper, ApplicationEventPublisher eventPublisher,
+                                DuplicateDetector duplicateDetector) {
         this.repo = repo;
+        this.archiveRepo = archiveRepo;
+        this.listingRepo = listingRepo;
+        this.customerRepo = customerRepo;
         this.mapper = mapper;
+        this.eventPublisher = eventPublisher;
+        this.duplicateDetector = duplicateDetector;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ComplaintResponse> findAll() {
         log.info("Getting all complaints");
-        List<Complaint> complaints = repo.findAll();
+        List<ListedComplaint> complaints = listingRepo.findAll();
         return complaints.stream()
                 .map(this::map)
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ComplaintResponse> findAll(PageRequest pageRequest) {
         log.info("Getting all complaints with pagination: {}", pageRequest);
-        List<Complaint> complaints = repo.findAll(pageRequest).getContent();
+        List<ListedComplaint> complaints = listingRepo.findAll(pageRequest).getContent();
         return complaints.stream()
                 .map(this::map)
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllFields(Set<String> fields, PageRequest pageRequest) {
+        log.info("Getting fields {} of all complaints with pagination: {}", fields, pageRequest);
+        return repo.findAllFields(validateFields(fields), null, null, pageRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllFields(Set<String> fields) {
+        log.info("Getting fields {} of all complaints", fields);
+        return repo.findAllFields(validateFields(fields), null, null, Pageable.unpaged());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> searchFields(Set<String> fields, LocalDate from, LocalDate to, PageRequest pageRequest) {
+        log.info("Searching fields {} of complaints between {} and {} with pagination: {}", fields, from, to, pageRequest);
+        return repo.findAllFields(validateFields(fields), from, to, pageRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ComplaintResponse> search(LocalDate from, LocalDate to, PageRequest pageRequest) {
+        log.info("Searching complaints between {} and {} with pagination: {}", from, to, pageRequest);
+        LocalDate lower = from == null ? MIN_DATE : from;
+        LocalDate upper = to == null ? MAX_DATE : to;
+        return listingRepo.findByDateBetween(lower, upper, pageRequest).stream()
+                .map(this::map)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public ComplaintResponse findById(Long id) {
-        Complaint complaint = repo.findById(id).orElseThrow(() -> new EntityNotFoundException("Complaint with id " + id + " not found"));
-        return this.map(complaint);
+        Optional<Complaint> complaint = repo.findById(id);
+        if (complaint.isPresent()) {
+            return this.map(complaint.get());
+        }
+        ArchivedComplaint archivedComplaint = archiveRepo.findById(id).orElseThrow(() -> new EntityNotFoundException("Complaint with id " + id + " not found"));
+        return this.map(archivedComplaint);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ComplaintBatchResponse findAllById(List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.isEmpty() || requested.size() > MAX_BATCH_SIZE) {
+            throw new InvalidRequestException("Between 1 and " + MAX_BATCH_SIZE + " ids must be requested.");
+        }
+        log.info("Getting {} complaints by id", requested.size());
+        Map<Long, ComplaintResponse> found = new HashMap<>(requested.size());
+        repo.findAllWithCustomerByIdIn(requested).forEach(complaint -> found.put(complaint.getId(), this.map(complaint)));
+        if (found.size() < requested.size()) {
+            List<Long> notLive = requested.stream()
+                    .filter(id -> !found.containsKey(id))
+                    .toList();
+            archiveRepo.findAllWithCustomerByIdIn(notLive).forEach(archivedComplaint -> found.put(archivedComplaint.getId(), this.map(archivedComplaint)));
+        }
+
+        List<ComplaintResponse> complaints = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            ComplaintResponse complaint = found.get(id);
+            if (complaint == null) {
+                missingIds.add(id);
+            } else {
+                complaints.add(complaint);
+            }
+        }
+        return new ComplaintBatchResponse(complaints, missingIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ComplaintPageResponse findByAuthenticatedCustomer(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        Long customerId = AuthenticatedCustomer.id();
+        log.info("Getting complaints of customer {} after cursor {}", customerId, cursor);
+        List<ListedComplaint> complaints;
+        if (cursor == null || cursor.isBlank()) {
+            complaints = listingRepo.findLatestByCustomerId(customerId, size + 1);
+        } else {
+            ComplaintCursor after = ComplaintCursor.decode(cursor);
+            complaints = listingRepo.findLatestByCustomerIdBefore(customerId, after.date(), after.id(), size + 1);
+        }
+        String nextCursor = null;
+        if (complaints.size() > size) {
+            complaints = complaints.subList(0, size);
+            ListedComplaint last = complaints.get(size - 1);
+            nextCursor = new ComplaintCursor(last.getDate(), last.getId()).encode();
+        }
+        if (complaints.isEmpty()) {
+            return new ComplaintPageResponse(List.of(), null);
+        }
+        // Every complaint belongs to the caller, so the customer is read once and without loading the entity
+        CustomerResponse customer = customerRepo.findSummaryById(customerId)
+                .map(summary -> new CustomerResponse(summary.email(), summary.name()))
+                .orElseThrow(() -> new EntityNotFoundException("Customer with id " + customerId + " not found"));
+        List<ComplaintResponse> responses = complaints.stream()
+                .map(complaint -> {
+                    ComplaintResponse dto = mapper.map(complaint, ComplaintResponse.class);
+                    dto.setCustomer(customer);
+                    return dto;
+                })
+                .toList();
+        return new ComplaintPageResponse(responses, nextCursor);
     }
 
     @Override
+    @Transactional
     public ComplaintResponse save(ComplaintCreateRequest request) {
         Complaint complaintToSave = this.map(request);
+        Optional<Complaint> original = duplicateDetector.findOriginal(AuthenticatedCustomer.id(), request.getProductId(), complaintToSave.getSimhash());
+        if (original.isPresent() && duplicateDetector.merges()) {
+            log.info("Merged new complaint into its duplicate {}", original.get().getId());
+            ComplaintResponse merged = this.map(original.get());
+            merged.setDuplicateOf(original.get().getId());
+            return merged;
+        }
+        original.ifPresent(duplicate -> complaintToSave.setDuplicateOf(duplicate.getId()));
         Complaint savedComplaint = repo.save(complaintToSave);
+        eventPublisher.publishEvent(new ComplaintChangedEvent(savedComplaint.getId()));
+        eventPublisher.publishEvent(new ComplaintCreatedEvent(savedComplaint.getId(), savedComplaint.getProductId()));
         return this.map(savedComplaint);
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
-        Complaint complaint = repo.findById(id).orElseThrow(() -> new EntityNotFoundException("Complaint with id " + id + " not found"));
-        Customer authenticatedCustomer = getAuthenticatedCustomer();
-        if (!complaint.getCustomer().getId().equals(authenticatedCustomer.getId())) {
-            throw new AccessDeniedException("You do not have permission to modify this complaint.");
+        Long customerId = AuthenticatedCustomer.id();
+        int cancelled = repo.updateStatusByIdAndCustomerId(id, customerId, Status.CANCELED);
+        if (cancelled == 0) {
+            throw notFoundOrAccessDenied(id);
         }
-        complaint.setStatus(Status.CANCELED);
-        repo.save(complaint);
+        eventPublisher.publishEvent(new ComplaintChangedEvent(id));
     }
 
     @Override
+    @Transactional
     public ComplaintResponse update(Long id, ComplaintUpdateRequest updateRequest) {
-        Complaint complaintToUpdate = repo.findById(id).orElseThrow(() -> new EntityNotFoundException("Complaint with id " + id + " not found"));
-        Customer authenticatedCustomer = getAuthenticatedCustomer();
-        if (!complaintToUpdate.getCustomer().getId().equals(authenticatedCustomer.getId())) {
-            throw new AccessDeniedException("You do not have permission to modify this complaint.");
-        }
-
-        Set<Status> modifiableStatuses = EnumSet.of(Status.OPEN, Status.IN_PROGRESS);
-        Status currentStatus = complaintToUpdate.getStatus();
-        if (!modifiableStatuses.contains(currentStatus)) {
+        Long customerId = AuthenticatedCustomer.id();
+        Status currentStatus = repo.findStatusByIdAndCustomerId(id, customerId).orElseThrow(() -> notFoundOrAccessDenied(id));
+        if (!Status.MODIFIABLE.contains(currentStatus)) {
             throw new UnableToModifyException("Cannot update complaint with status " + currentStatus + ".");
         }
 
-        complaintToUpdate = this.map(updateRequest);
+        int updated = repo.updateByIdAndCustomerId(id, customerId, Status.MODIFIABLE,
+                updateRequest.getProductId(), updateRequest.getDescription(), SimHash.of(updateRequest.getDescription()), updateRequest.getStatus());
+        if (updated == 0) {
+            throw new UnableToModifyException("Complaint with id " + id + " was modified concurrently.");
+        }
+        eventPublisher.publishEvent(new ComplaintChangedEvent(id));
 
-        Complaint complaint = repo.save(complaintToUpdate);
+        Complaint complaint = repo.findById(id).orElseThrow(() -> new EntityNotFoundException("Complaint with id " + id + " not found"));
         return this.map(complaint);
     }
 
@@ -105,28 +258,50 @@ public class ComplaintServiceImpl implements ComplaintService {
         return dto;
     }
 
+    private ComplaintResponse map(ArchivedComplaint archivedComplaint) {
+        ComplaintResponse dto = mapper.map(archivedComplaint, ComplaintResponse.class);
+        CustomerResponse customerResponse = mapper.map(archivedComplaint.getCustomer(), CustomerResponse.class);
+        dto.setCustomer(customerResponse);
+        return dto;
+    }
+
+    private ComplaintResponse map(ListedComplaint listedComplaint) {
+        ComplaintResponse dto = mapper.map(listedComplaint, ComplaintResponse.class);
+        CustomerResponse customerResponse = mapper.map(listedComplaint.getCustomer(), CustomerResponse.class);
+        dto.setCustomer(customerResponse);
+        return dto;
+    }
+
     private Complaint map(ComplaintCreateRequest request) {
         Complaint complaint = new Complaint();
         complaint.setProductId(request.getProductId());
-        complaint.setCustomer(getAuthenticatedCustomer());
+        complaint.setCustomer(customerRepo.getReferenceById(AuthenticatedCustomer.id()));
         complaint.setDate(request.getDate());
         complaint.setDescription(request.getDescription());
+        complaint.setSimhash(SimHash.of(request.getDescription()));
         complaint.setStatus(request.getStatus());
         return complaint;
     }
 
-    private Complaint map(ComplaintUpdateRequest request) {
-        Complaint complaint = new Complaint();
-        complaint.setProductId(request.getProductId());
-        complaint.setCustomer(getAuthenticatedCustomer());
-        complaint.setDescription(request.getDescription());
-        complaint.setStatus(request.getStatus());
-        return complaint;
+    private Set<String> validateFields(Set<String> fields) {
+        if (fields.isEmpty()) {
+            throw new InvalidRequestException("At least one field must be requested.");
+        }
+        for (String field : fields) {
+            if (!ComplaintProjectionRepository.PROJECTABLE_FIELDS.contains(field)) {
+                throw new InvalidRequestException("Unknown field " + field + ". Allowed fields: " + ComplaintProjectionRepository.PROJECTABLE_FIELDS + ".");
+            }
+        }
+        return fields;
     }
 
-    private Customer getAuthenticatedCustomer() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        return userDetails.customer();
+    private RuntimeException notFoundOrAccessDenied(Long id) {
+        if (repo.existsById(id)) {
+            return new AccessDeniedException("You do not have permission to modify this complaint.");
+        }
+        if (archiveRepo.existsById(id)) {
+            return new UnableToModifyException("Complaint with id " + id + " is archived and cannot be modified.");
+        }
+        return new EntityNotFoundException("Complaint with id " + id + " not found");
     }
 }
@@ -0,0 +1,44 @@
+package com.complaints.service.impl;
+
+import com.complaints.duplicates.SimHash;
+import com.complaints.entity.enums.Status;
+import com.complaints.event.ComplaintChangedEvent;
+import com.complaints.repository.ComplaintRepository;
+import com.complaints.writebehind.PendingUpdate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Applies a batch of merged updates in one transaction, with the same ownership and status guard as a direct update.
+ */
+@Slf4j
+public class ComplaintUpdateWriter implements Consumer<List<PendingUpdate>> {
+
+    private final ComplaintRepository repo;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ComplaintUpdateWriter(ComplaintRepository repo, TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher) {
+        this.repo = repo;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void accept(List<PendingUpdate> updates) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (PendingUpdate update : updates) {
+                int updated = repo.updateByIdAndCustomerId(update.complaintId(), update.customerId(), Status.MODIFIABLE,
+                        update.productId(), update.description(), SimHash.of(update.description()), update.status());
+                if (updated == 0) {
+                    log.warn("Dropped update of complaint {}: it is no longer modifiable", update.complaintId());
+                }
+                eventPublisher.publishEvent(new ComplaintChangedEvent(update.complaintId()));
+            }
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package com.complaints.service.impl;
+
+import com.complaints.dto.response.TokenResponse;
+import com.complaints.security.UserDetailsImpl;
+import com.complaints.service.TokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Slf4j
+@Service
+public class TokenServiceImpl implements TokenService {
+
+    private static final String ISSUER = "complaints-api";
+    private static final String TOKEN_TYPE = "Bearer";
+
+    private final JwtEncoder encoder;
+    private final Duration ttl;
+
+    public TokenServiceImpl(JwtEncoder encoder, @Value("${complaints.security.jwt.ttl:15m}") Duration ttl) {
+        this.encoder = encoder;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public TokenResponse issue(Authentication authentication) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        log.info("Issuing access token for customer: {}", userDetails.getUsername());
+
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(ISSUER)
+                .subject(userDetails.getUsername())
+                .issuedAt(now)
+                .expiresAt(now.plus(ttl))
+                .claim(CUSTOMER_ID_CLAIM, userDetails.customerId())
+                .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        String token = encoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+        return new TokenResponse(token, TOKEN_TYPE, ttl.toSeconds());
+    }
+}
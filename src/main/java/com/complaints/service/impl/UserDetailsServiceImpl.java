@@ -1,11 +1,12 @@
 package com.complaints.service.impl;
 
-import com.complaints.entity.Customer;
+import com.complaints.repository.CustomerCredentials;
 import com.complaints.repository.CustomerRepository;
 import com.complaints.security.UserDetailsImpl;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -17,19 +18,30 @@ import java.util.Optional;
 @AllArgsConstructor
 @Service
 @Transactional
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final CustomerRepository customerRepository;
 
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         log.info("Loading customer by email: {}", email);
 
-        Optional<Customer> optionalCustomer = customerRepository.findByEmail(email);
+        Optional<CustomerCredentials> optionalCustomer = customerRepository.findCredentialsByEmail(email);
         if (optionalCustomer.isPresent()) {
-            return new UserDetailsImpl(optionalCustomer.get());
+            CustomerCredentials customer = optionalCustomer.get();
+            return new UserDetailsImpl(customer.id(), customer.email(), customer.password());
         }
         log.error("Customer not found with email: {}", email);
         throw new UsernameNotFoundException("Customer not found with email: " + email);
     }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        log.info("Upgrading password encoding for customer: {}", user.getUsername());
+
+        customerRepository.updatePassword(user.getUsername(), newPassword);
+        UserDetailsImpl userDetails = (UserDetailsImpl) user;
+        return new UserDetailsImpl(userDetails.customerId(), userDetails.email(), newPassword);
+    }
 }
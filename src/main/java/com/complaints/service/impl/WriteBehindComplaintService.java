@@ -0,0 +1,109 @@
+package com.complaints.service.impl;
+
+import com.complaints.dto.request.ComplaintCreateRequest;
+import com.complaints.dto.request.ComplaintUpdateRequest;
+import com.complaints.dto.response.ComplaintBatchResponse;
+import com.complaints.dto.response.ComplaintPageResponse;
+import com.complaints.dto.response.ComplaintResponse;
+import com.complaints.entity.enums.Status;
+import com.complaints.repository.ComplaintRepository;
+import com.complaints.security.AuthenticatedCustomer;
+import com.complaints.service.ComplaintService;
+import com.complaints.writebehind.ComplaintUpdateBatcher;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Accepts updates of modifiable complaints into a {@link ComplaintUpdateBatcher} instead of writing them immediately.
+ * The response shows the complaint as it will be once the batch is written. Updates that would fail are passed to
+ * the delegate so the caller gets the same error as without write-behind; the batcher rejects an update that follows
+ * a not yet written one to a status that cannot be modified.
+ */
+public class WriteBehindComplaintService implements ComplaintService {
+
+    private final ComplaintService delegate;
+    private final ComplaintUpdateBatcher batcher;
+    private final ComplaintRepository repo;
+
+    public WriteBehindComplaintService(ComplaintService delegate, ComplaintUpdateBatcher batcher, ComplaintRepository repo) {
+        this.delegate = delegate;
+        this.batcher = batcher;
+        this.repo = repo;
+    }
+
+    @Override
+    public List<ComplaintResponse> findAll(PageRequest pageRequest) {
+        return delegate.findAll(pageRequest);
+    }
+
+    @Override
+    public List<ComplaintResponse> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllFields(Set<String> fields, PageRequest pageRequest) {
+        return delegate.findAllFields(fields, pageRequest);
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllFields(Set<String> fields) {
+        return delegate.findAllFields(fields);
+    }
+
+    @Override
+    public List<ComplaintResponse> search(LocalDate from, LocalDate to, PageRequest pageRequest) {
+        return delegate.search(from, to, pageRequest);
+    }
+
+    @Override
+    public List<Map<String, Object>> searchFields(Set<String> fields, LocalDate from, LocalDate to, PageRequest pageRequest) {
+        return delegate.searchFields(fields, from, to, pageRequest);
+    }
+
+    @Override
+    public ComplaintResponse findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public ComplaintBatchResponse findAllById(List<Long> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public ComplaintPageResponse findByAuthenticatedCustomer(String cursor, int size) {
+        return delegate.findByAuthenticatedCustomer(cursor, size);
+    }
+
+    @Override
+    public ComplaintResponse save(ComplaintCreateRequest request) {
+        return delegate.save(request);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public ComplaintResponse update(Long id, ComplaintUpdateRequest updateRequest) {
+        Long customerId = AuthenticatedCustomer.id();
+        Optional<Status> currentStatus = repo.findStatusByIdAndCustomerId(id, customerId);
+        if (currentStatus.isEmpty() || !Status.MODIFIABLE.contains(currentStatus.get())) {
+            return delegate.update(id, updateRequest);
+        }
+
+        batcher.submit(id, customerId, updateRequest.getProductId(), updateRequest.getDescription(), updateRequest.getStatus());
+        ComplaintResponse complaint = delegate.findById(id);
+        complaint.setProductId(updateRequest.getProductId());
+        complaint.setDescription(updateRequest.getDescription());
+        complaint.setStatus(updateRequest.getStatus());
+        return complaint;
+    }
+}
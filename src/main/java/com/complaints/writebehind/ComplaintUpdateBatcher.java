@@ -0,0 +1,159 @@
+package com.complaints.writebehind;
+
+import com.complaints.entity.enums.Status;
+import com.complaints.exception.UnableToModifyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Collects complaint updates and writes them out once per window. Updates to the same complaint within a window
+ * are merged, with the latest one winning, so a burst of PUTs costs a single UPDATE. Accepted updates are
+ * journaled first, and after every flush the journal is compacted to the updates that are still pending. An update
+ * is rejected while an earlier one that is not yet written leaves the complaint in a status that cannot be modified.
+ * <p>
+ * When a batch fails, its updates are retried one by one, so a single failing update does not hold back the
+ * rest. An update that fails on its own while others succeed is retried in later windows and, after
+ * {@code maxAttempts} such failures, moved to the dead-letter journal and dropped.
+ */
+@Slf4j
+public class ComplaintUpdateBatcher implements AutoCloseable {
+
+    private final UpdateJournal journal;
+    private final UpdateJournal deadLetters;
+    private final Consumer<List<PendingUpdate>> writer;
+    private final int maxAttempts;
+    private final Map<Long, PendingUpdate> pending = new LinkedHashMap<>();
+    private final Map<Long, PendingUpdate> writing = new HashMap<>();
+    private final Map<Long, Integer> failedAttempts = new HashMap<>();
+    private long sequence;
+
+    public ComplaintUpdateBatcher(UpdateJournal journal, UpdateJournal deadLetters, Consumer<List<PendingUpdate>> writer, int maxAttempts) {
+        this.journal = journal;
+        this.deadLetters = deadLetters;
+        this.writer = writer;
+        this.maxAttempts = maxAttempts;
+        List<PendingUpdate> journaled = journal.readAll();
+        journaled.sort(Comparator.comparingLong(PendingUpdate::sequence));
+        for (PendingUpdate update : journaled) {
+            pending.put(update.complaintId(), update);
+            sequence = Math.max(sequence, update.sequence());
+        }
+        if (!journaled.isEmpty()) {
+            log.info("Replaying {} journaled updates for {} complaints", journaled.size(), pending.size());
+            journal.compact(pending.values());
+        }
+    }
+
+    /**
+     * Returns once the update is journaled on disk. The fsync happens outside the lock, so submitters that arrive
+     * while one is forcing the journal are covered together by the next force.
+     */
+    public void submit(Long complaintId, Long customerId, Long productId, String description, Status status) {
+        long position;
+        synchronized (pending) {
+            PendingUpdate previous = pending.containsKey(complaintId) ? pending.get(complaintId) : writing.get(complaintId);
+            if (previous != null && !Status.MODIFIABLE.contains(previous.status())) {
+                throw new UnableToModifyException("Cannot update complaint with status " + previous.status() + ".");
+            }
+            PendingUpdate update = new PendingUpdate(++sequence, complaintId, customerId, productId, description, status);
+            position = journal.append(update);
+            PendingUpdate replaced = pending.put(complaintId, update);
+            if (replaced != null) {
+                failedAttempts.remove(replaced.sequence());
+            }
+        }
+        journal.sync(position);
+    }
+
+    @Scheduled(fixedDelayString = "${complaints.write-behind.window-ms:50}")
+    public int flush() {
+        List<PendingUpdate> batch;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            batch = new ArrayList<>(pending.values());
+            batch.forEach(update -> writing.put(update.complaintId(), update));
+            pending.clear();
+        }
+
+        List<PendingUpdate> failed = new ArrayList<>();
+        int written;
+        try {
+            writer.accept(batch);
+            written = batch.size();
+        } catch (RuntimeException e) {
+            log.warn("Writing {} complaint updates failed, retrying them one by one", batch.size(), e);
+            written = writeIndividually(batch, failed);
+        }
+        // When nothing could be written the database is more likely unavailable than the updates at fault
+        boolean othersSucceeded = written > 0;
+
+        synchronized (pending) {
+            List<Integer> attemptsSoFar = failed.stream()
+                    .map(update -> failedAttempts.getOrDefault(update.sequence(), 0) + (othersSucceeded ? 1 : 0))
+                    .toList();
+            batch.forEach(update -> failedAttempts.remove(update.sequence()));
+            for (int i = 0; i < failed.size(); i++) {
+                PendingUpdate update = failed.get(i);
+                int attempts = attemptsSoFar.get(i);
+                if (pending.containsKey(update.complaintId())) {
+                    // Anything submitted meanwhile is newer than the failed update and takes precedence.
+                    continue;
+                }
+                if (attempts >= maxAttempts) {
+                    deadLetters.sync(deadLetters.append(update));
+                    log.error("Moved update of complaint {} to the dead-letter journal after {} failed attempts",
+                            update.complaintId(), attempts);
+                } else {
+                    pending.put(update.complaintId(), update);
+                    failedAttempts.put(update.sequence(), attempts);
+                }
+            }
+            writing.clear();
+            journal.compact(pending.values());
+        }
+        return written;
+    }
+
+    public int pendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        flush();
+        journal.close();
+        deadLetters.close();
+    }
+
+    private int writeIndividually(List<PendingUpdate> batch, List<PendingUpdate> failed) {
+        int written = 0;
+        for (PendingUpdate update : batch) {
+            synchronized (pending) {
+                if (pending.containsKey(update.complaintId())) {
+                    // Superseded while the batch was being written; the newer update is written in the next window
+                    continue;
+                }
+            }
+            try {
+                writer.accept(List.of(update));
+                written++;
+            } catch (RuntimeException e) {
+                log.warn("Writing update of complaint {} failed: {}", update.complaintId(), e.getMessage());
+                failed.add(update);
+            }
+        }
+        return written;
+    }
+}
@@ -0,0 +1,6 @@
+package com.complaints.writebehind;
+
+import com.complaints.entity.enums.Status;
+
+public record PendingUpdate(long sequence, Long complaintId, Long customerId, Long productId, String description, Status status) {
+}
@@ -0,0 +1,170 @@
+package com.complaints.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Append-only file of accepted updates, one JSON document per line. An update is acknowledged only after
+ * {@link #sync} has forced it to disk, so it survives a crash and is replayed on the next start. Appends made while
+ * another thread is forcing are covered by the next force, so concurrent writers share one fsync per group.
+ * {@link #compact} replaces the file with the updates that are still pending, so it stays as small as the backlog.
+ */
+public class UpdateJournal implements AutoCloseable {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final Object syncLock = new Object();
+    private FileChannel channel;
+    private long appended;
+    private volatile long synced;
+
+    public UpdateJournal(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = open(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open update journal " + file, e);
+        }
+    }
+
+    /**
+     * Writes the update without forcing it to disk and returns the position to pass to {@link #sync}.
+     */
+    public synchronized long append(PendingUpdate update) {
+        try {
+            byte[] line = line(update);
+            write(channel, line);
+            appended += line.length;
+            return appended;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to update journal " + file, e);
+        }
+    }
+
+    /**
+     * Returns once everything appended up to {@code position} is on disk. Positions count every byte ever appended,
+     * so they stay valid after the file is compacted.
+     */
+    public void sync(long position) {
+        if (synced >= position) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced >= position) {
+                return;
+            }
+            long target;
+            FileChannel current;
+            synchronized (this) {
+                target = appended;
+                current = channel;
+            }
+            try {
+                current.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot sync update journal " + file, e);
+            }
+            synced = target;
+        }
+    }
+
+    public synchronized List<PendingUpdate> readAll() {
+        List<PendingUpdate> updates = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    updates.add(objectMapper.readValue(line, PendingUpdate.class));
+                } catch (IOException e) {
+                    // Only the last line can be torn by a crash mid-append, and it was never acknowledged.
+                    break;
+                }
+            }
+            return updates;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read update journal " + file, e);
+        }
+    }
+
+    /**
+     * Replaces the journal with {@code updates}. The new file is written and forced next to the old one and then
+     * renamed over it, so a crash leaves either the old or the new journal, never a partial one. Everything
+     * appended before the call counts as synced afterwards, so callers must pass every update not yet written.
+     */
+    public void compact(Collection<PendingUpdate> updates) {
+        synchronized (syncLock) {
+            synchronized (this) {
+                Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+                try {
+                    try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                            StandardOpenOption.TRUNCATE_EXISTING)) {
+                        for (PendingUpdate update : updates) {
+                            write(out, line(update));
+                        }
+                        out.force(false);
+                    }
+                    Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    forceDirectory();
+                    channel.close();
+                    channel = open(file);
+                    synced = appended;
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot compact update journal " + file, e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private byte[] line(PendingUpdate update) throws IOException {
+        return (objectMapper.writeValueAsString(update) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void write(FileChannel target, byte[] line) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    private void forceDirectory() {
+        Path parent = file.toAbsolutePath().getParent();
+        try (FileChannel directory = FileChannel.open(parent, StandardOpenOption.READ)) {
+            // Makes the rename durable, so appends to the new file cannot be lost with it
+            directory.force(true);
+        } catch (IOException e) {
+            // Not every platform can open or force a directory; the rename is still atomic there.
+        }
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        FileChannel opened = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        opened.position(opened.size());
+        return opened;
+    }
+}
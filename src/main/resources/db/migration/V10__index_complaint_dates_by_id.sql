@@ -0,0 +1,53 @@
+-- The primary key of the partitioned complaints table is (id, date), so a lookup by id alone probes the index of every
+-- monthly partition. complaint_dates maps each id to its date; id lookups join through it, and the date found there
+-- lets the executor prune every other partition. Kept in sync by row triggers, which also fire for COPY and for rows
+-- moved to another partition (as a delete and an insert).
+CREATE TABLE complaint_dates
+(
+    id   BIGINT PRIMARY KEY,
+    date DATE NOT NULL
+) WITH (fillfactor = 90);
+
+INSERT INTO complaint_dates (id, date)
+SELECT id, date
+FROM complaints;
+
+CREATE FUNCTION complaint_dates_upsert() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO complaint_dates (id, date)
+    VALUES (NEW.id, NEW.date)
+    ON CONFLICT (id) DO UPDATE SET date = EXCLUDED.date;
+    RETURN NULL;
+END;
+$$;
+
+CREATE FUNCTION complaint_dates_delete() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    -- A row moved between partitions may already have been re-inserted with its new date
+    DELETE FROM complaint_dates WHERE id = OLD.id AND date = OLD.date;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER complaint_dates_insert
+    AFTER INSERT
+    ON complaints
+    FOR EACH ROW
+EXECUTE FUNCTION complaint_dates_upsert();
+
+CREATE TRIGGER complaint_dates_update
+    AFTER UPDATE OF date
+    ON complaints
+    FOR EACH ROW
+    WHEN (OLD.date IS DISTINCT FROM NEW.date)
+EXECUTE FUNCTION complaint_dates_upsert();
+
+CREATE TRIGGER complaint_dates_delete
+    AFTER DELETE
+    ON complaints
+    FOR EACH ROW
+EXECUTE FUNCTION complaint_dates_delete();
@@ -0,0 +1,83 @@
+-- create_complaints_partitions: rows of a month without a partition are stored in complaints_default, and creating the
+-- partition while they are there fails. They are now moved into the new table before it is attached.
+CREATE OR REPLACE FUNCTION create_complaints_partitions(from_date DATE, to_date DATE) RETURNS INTEGER
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    current_month  DATE := date_trunc('month', from_date)::DATE;
+    next_month     DATE;
+    partition_name TEXT;
+    created        INTEGER := 0;
+BEGIN
+    WHILE current_month <= to_date
+        LOOP
+            next_month := (current_month + INTERVAL '1 month')::DATE;
+            partition_name := 'complaints_y' || to_char(current_month, 'YYYY"m"MM');
+            IF to_regclass(partition_name) IS NULL THEN
+                IF EXISTS (SELECT 1 FROM complaints_default WHERE date >= current_month AND date < next_month) THEN
+                    EXECUTE format('CREATE TABLE %I (LIKE complaints INCLUDING DEFAULTS)', partition_name);
+                    -- The delete fires the complaint_dates triggers, so the moved ids are indexed again afterwards
+                    EXECUTE format('WITH moved AS (DELETE FROM complaints_default WHERE date >= %L AND date < %L RETURNING *) '
+                                       || 'INSERT INTO %I SELECT * FROM moved', current_month, next_month, partition_name);
+                    EXECUTE format('ALTER TABLE complaints ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                                   partition_name, current_month, next_month);
+                    EXECUTE format('INSERT INTO complaint_dates (id, date) SELECT id, date FROM %I '
+                                       || 'ON CONFLICT (id) DO UPDATE SET date = EXCLUDED.date', partition_name);
+                ELSE
+                    EXECUTE format('CREATE TABLE %I PARTITION OF complaints FOR VALUES FROM (%L) TO (%L)',
+                                   partition_name, current_month, next_month);
+                END IF;
+                created := created + 1;
+            END IF;
+            current_month := next_month;
+        END LOOP;
+    RETURN created;
+END;
+$$;
+
+-- detach_complaints_partitions: partitions past retention used to be moved to the archive schema, where neither lookups
+-- nor listings could see them. Their rows now go to complaints_archive, which both read, and the partition is dropped.
+CREATE OR REPLACE FUNCTION detach_complaints_partitions(older_than DATE) RETURNS INTEGER
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    partition_name TEXT;
+    detached       INTEGER := 0;
+BEGIN
+    FOR partition_name IN
+        SELECT child.relname
+        FROM pg_inherits
+                 JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+                 JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+        WHERE parent.relname = 'complaints'
+          AND child.relname ~ '^complaints_y[0-9]{4}m[0-9]{2}$'
+        LOOP
+            IF (to_date(substring(partition_name FROM 13), 'YYYY"m"MM') + INTERVAL '1 month')::DATE <= older_than THEN
+                EXECUTE format('ALTER TABLE complaints DETACH PARTITION %I', partition_name);
+                EXECUTE format('INSERT INTO complaints_archive (id, product_id, customer_id, date, description, status) '
+                                   || 'SELECT id, product_id, customer_id, date, description, status FROM %I '
+                                   || 'ON CONFLICT (id) DO NOTHING', partition_name);
+                EXECUTE format('DELETE FROM complaint_dates d USING %I p WHERE d.id = p.id', partition_name);
+                EXECUTE format('DROP TABLE %I', partition_name);
+                detached := detached + 1;
+            END IF;
+        END LOOP;
+    RETURN detached;
+END;
+$$;
+
+-- Partitions detached before this migration are copied as well; the tables stay in the archive schema until dropped.
+DO
+$$
+    DECLARE
+        partition_name TEXT;
+    BEGIN
+        FOR partition_name IN
+            SELECT tablename FROM pg_tables WHERE schemaname = 'archive' AND tablename ~ '^complaints_y[0-9]{4}m[0-9]{2}$'
+            LOOP
+                EXECUTE format('INSERT INTO complaints_archive (id, product_id, customer_id, date, description, status) '
+                                   || 'SELECT id, product_id, customer_id, date, description, status FROM archive.%I '
+                                   || 'ON CONFLICT (id) DO NOTHING', partition_name);
+            END LOOP;
+    END
+$$;
@@ -0,0 +1,55 @@
+-- The duplicate lookup matched bands with an expression over description_simhash, which no index can serve, so it read
+-- every open complaint of the customer and product in every partition. The eight bands are now stored as an array,
+-- each value offset by 256 * its band number so equal slices only match at the same position, and indexed with GIN
+-- next to customer and product. Candidates are then found with one array overlap (&&) against the index.
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE FUNCTION complaint_simhash_bands(simhash BIGINT) RETURNS INTEGER[]
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE AS
+$$
+SELECT CASE
+           WHEN simhash IS NOT NULL THEN ARRAY(SELECT band * 256 + ((simhash >> (band * 8)) & 255)::INTEGER
+                                               FROM generate_series(0, 7) AS band
+                                               ORDER BY band)
+           END
+$$;
+
+ALTER TABLE complaints
+    ADD COLUMN description_bands INTEGER[];
+
+CREATE FUNCTION complaints_set_description_bands() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    NEW.description_bands := complaint_simhash_bands(NEW.description_simhash);
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER complaints_description_bands
+    BEFORE INSERT OR UPDATE OF description_simhash
+    ON complaints
+    FOR EACH ROW
+EXECUTE FUNCTION complaints_set_description_bands();
+
+-- Only changes to exported columns mark a row as changed for the export job, so filling the derived signature columns
+-- here and in SimHashBackfillJob does not make the next export resend the whole table.
+DROP TRIGGER complaints_updated_at ON complaints;
+
+CREATE TRIGGER complaints_updated_at
+    BEFORE UPDATE OF product_id, customer_id, date, description, status, duplicate_of
+    ON complaints
+    FOR EACH ROW
+EXECUTE FUNCTION set_complaints_updated_at();
+
+UPDATE complaints
+SET description_bands = complaint_simhash_bands(description_simhash)
+WHERE description_simhash IS NOT NULL;
+
+CREATE INDEX complaints_customer_product_bands_idx ON complaints USING gin (customer_id, product_id, description_bands);
+
+DROP INDEX complaints_customer_product_simhash_idx;
+
+-- Rows created before V7 have no signature; SimHashBackfillJob computes them in batches through this index,
+-- which shrinks to nothing as it goes.
+CREATE INDEX complaints_missing_simhash_idx ON complaints (id, date) WHERE description_simhash IS NULL;
@@ -0,0 +1,2 @@
+-- Customers page through their live and archived complaints together, see V6__index_complaints_by_customer.sql.
+CREATE INDEX complaints_archive_customer_date_idx ON complaints_archive (customer_id, date, id);
@@ -0,0 +1,5 @@
+-- Existing passwords are stored in plain text. Tag them with the {noop} id so the
+-- delegating encoder can still verify them and re-hash each one on next login.
+UPDATE customers
+SET password = '{noop}' || password
+WHERE password NOT LIKE '{%}%';
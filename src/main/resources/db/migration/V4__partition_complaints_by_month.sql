@@ -0,0 +1,89 @@
+-- Re-create complaints as a table range-partitioned by month on date.
+-- Partitioned tables cannot have identity columns before PostgreSQL 17, so ids come from a plain sequence,
+-- and the primary key has to include the partition key.
+ALTER TABLE complaints RENAME TO complaints_unpartitioned;
+ALTER TABLE complaints_unpartitioned ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE complaints_unpartitioned RENAME CONSTRAINT complaints_pkey TO complaints_unpartitioned_pkey;
+
+CREATE SEQUENCE complaints_id_seq AS BIGINT;
+
+CREATE TABLE complaints
+(
+    id          BIGINT  NOT NULL DEFAULT nextval('complaints_id_seq'),
+    product_id  BIGINT  NOT NULL,
+    customer_id BIGINT  NOT NULL,
+    date        DATE    NOT NULL DEFAULT now(),
+    description TEXT    NOT NULL,
+    status      VARCHAR NOT NULL,
+    PRIMARY KEY (id, date)
+) PARTITION BY RANGE (date);
+
+ALTER SEQUENCE complaints_id_seq OWNED BY complaints.id;
+
+CREATE TABLE complaints_default PARTITION OF complaints DEFAULT;
+
+CREATE INDEX complaints_date_idx ON complaints (date, id);
+
+-- Creates one partition per month for every month touched by [from_date, to_date]. Returns the number created.
+CREATE FUNCTION create_complaints_partitions(from_date DATE, to_date DATE) RETURNS INTEGER
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    current_month  DATE := date_trunc('month', from_date)::DATE;
+    partition_name TEXT;
+    created        INTEGER := 0;
+BEGIN
+    WHILE current_month <= to_date
+        LOOP
+            partition_name := 'complaints_y' || to_char(current_month, 'YYYY"m"MM');
+            IF to_regclass(partition_name) IS NULL THEN
+                EXECUTE format('CREATE TABLE %I PARTITION OF complaints FOR VALUES FROM (%L) TO (%L)',
+                               partition_name, current_month, (current_month + INTERVAL '1 month')::DATE);
+                created := created + 1;
+            END IF;
+            current_month := (current_month + INTERVAL '1 month')::DATE;
+        END LOOP;
+    RETURN created;
+END;
+$$;
+
+-- Detaches monthly partitions that end on or before older_than and moves them to the archive schema,
+-- where they can be dumped and dropped without touching the live table. Returns the number detached.
+CREATE SCHEMA IF NOT EXISTS archive;
+
+CREATE FUNCTION detach_complaints_partitions(older_than DATE) RETURNS INTEGER
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    partition_name TEXT;
+    detached       INTEGER := 0;
+BEGIN
+    FOR partition_name IN
+        SELECT child.relname
+        FROM pg_inherits
+                 JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+                 JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+        WHERE parent.relname = 'complaints'
+          AND child.relname ~ '^complaints_y[0-9]{4}m[0-9]{2}$'
+        LOOP
+            IF (to_date(substring(partition_name FROM 13), 'YYYY"m"MM') + INTERVAL '1 month')::DATE <= older_than THEN
+                EXECUTE format('ALTER TABLE complaints DETACH PARTITION %I', partition_name);
+                EXECUTE format('ALTER TABLE %I SET SCHEMA archive', partition_name);
+                detached := detached + 1;
+            END IF;
+        END LOOP;
+    RETURN detached;
+END;
+$$;
+
+SELECT create_complaints_partitions(
+               COALESCE((SELECT min(date) FROM complaints_unpartitioned), CURRENT_DATE),
+               (CURRENT_DATE + INTERVAL '3 months')::DATE);
+
+INSERT INTO complaints (id, product_id, customer_id, date, description, status)
+SELECT id, product_id, customer_id, date, description, status
+FROM complaints_unpartitioned;
+
+SELECT setval('complaints_id_seq', COALESCE((SELECT max(id) FROM complaints), 0) + 1, false);
+
+DROP TABLE complaints_unpartitioned;
@@ -0,0 +1 @@
+CREATE INDEX complaints_customer_date_idx ON complaints (customer_id, date, id);
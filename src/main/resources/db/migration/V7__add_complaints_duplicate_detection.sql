@@ -0,0 +1,5 @@
+ALTER TABLE complaints
+    ADD COLUMN description_simhash BIGINT,
+    ADD COLUMN duplicate_of        BIGINT;
+
+CREATE INDEX complaints_customer_product_simhash_idx ON complaints (customer_id, product_id, description_simhash);
@@ -0,0 +1,21 @@
+-- Set on insert and refreshed by trigger on every update, including bulk JPQL updates; the export job reads
+-- changed rows in (updated_at, id) order.
+ALTER TABLE complaints
+    ADD COLUMN updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+CREATE FUNCTION set_complaints_updated_at() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    NEW.updated_at := now();
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER complaints_updated_at
+    BEFORE UPDATE
+    ON complaints
+    FOR EACH ROW
+EXECUTE FUNCTION set_complaints_updated_at();
+
+CREATE INDEX complaints_updated_at_idx ON complaints (updated_at, id);
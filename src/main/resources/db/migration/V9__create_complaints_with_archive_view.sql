@@ -0,0 +1,8 @@
+-- Live and archived complaints as one relation for the listing endpoints. Both tables are indexed on (date, id), so a
+-- page ordered by date and id is read as a merge of two index scans, with LIMIT and OFFSET applied to the merged order.
+CREATE VIEW complaints_with_archive AS
+SELECT id, product_id, customer_id, date, description, status, duplicate_of
+FROM complaints
+UNION ALL
+SELECT id, product_id, customer_id, date, description, status, NULL::BIGINT
+FROM complaints_archive;
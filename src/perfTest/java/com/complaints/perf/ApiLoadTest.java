@@ -0,0 +1,107 @@
+package com.complaints.perf;
+
+import com.complaints.PostgresTestDatabase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application against a clone of the shared test database, fills it with {@link DataGenerator} and drives it with
+ * {@link LoadHarness}. Sizes and duration come from system properties, see the perfTest task in build.gradle. The embedded
+ * server runs with the production tuning of the server profile.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "server"})
+class ApiLoadTest {
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> 20);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Test
+    void runLoad() throws Exception {
+        int customers = Integer.getInteger("perf.customers", 10_000);
+        int complaints = Integer.getInteger("perf.complaints", 200_000);
+        int users = Integer.getInteger("perf.users", 50);
+        Duration warmup = Duration.ofSeconds(Long.getLong("perf.warmup", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("perf.duration", 60));
+        HttpClient.Version version = "2".equals(System.getProperty("perf.http")) ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1;
+        Set<String> only = Set.of(System.getProperty("perf.scenarios", "").split(","));
+        String reportName = System.getProperty("perf.report", "api-load");
+
+        long firstCustomerId;
+        long[] idRange;
+        try (Connection connection = dataSource.getConnection()) {
+            firstCustomerId = new DataGenerator(connection, 42).generate(customers, complaints);
+            idRange = complaintIdRange(connection);
+        }
+
+        URI baseUri = URI.create("http://localhost:" + port);
+        HttpClient client = HttpClient.newBuilder().version(version).connectTimeout(Duration.ofSeconds(5)).build();
+        List<UserSession> sessions = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            String email = DataGenerator.EMAIL_FORMAT.formatted(firstCustomerId + i % customers);
+            sessions.add(ApiScenarios.login(client, baseUri, mapper, email, i));
+        }
+
+        List<LoadHarness.Scenario> scenarios = ApiScenarios.all(baseUri, mapper, idRange[0], idRange[1]).stream()
+                .filter(scenario -> only.contains("") || only.contains(scenario.name()))
+                .toList();
+        assertThat(scenarios).as("scenarios matching perf.scenarios").isNotEmpty();
+        LoadHarness harness = new LoadHarness(client, scenarios);
+        LoadHarness.Report report = harness.run(users, warmup, duration, sessions::get);
+
+        String formatted = "%s, %s, %d users%n".formatted(context.getWebServer().getClass().getSimpleName(), version, users)
+                + report.format();
+        System.out.print(formatted);
+        Path output = Path.of("build", "reports", "perf", reportName + ".txt");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, formatted);
+
+        assertThat(report.requests()).isPositive();
+        assertThat(report.errors()).isLessThanOrEqualTo(report.requests() / 100);
+    }
+
+    private static long[] complaintIdRange(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT min(id), max(id) FROM complaints")) {
+            resultSet.next();
+            return new long[]{resultSet.getLong(1), resultSet.getLong(2)};
+        }
+    }
+}
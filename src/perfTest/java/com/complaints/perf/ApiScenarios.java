@@ -0,0 +1,197 @@
+package com.complaints.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The request mix of the load test. Weights approximate the production traffic: mostly reads, with creates,
+ * updates and cancellations acting on complaints the virtual user created itself.
+ */
+public final class ApiScenarios {
+
+    private static final String COMPLAINTS = "/api/v1/complaints";
+    private static final String JSON = "application/json";
+
+    private ApiScenarios() {
+    }
+
+    public static List<LoadHarness.Scenario> all(URI baseUri, ObjectMapper mapper, long minComplaintId, long maxComplaintId) {
+        return List.of(
+                scenario("list", 30, session -> get(baseUri, COMPLAINTS + "?page=" + session.random().nextInt(20) + "&size=50&sort=id")),
+                scenario("list-by-date", 10, session -> {
+                    LocalDate to = LocalDate.now().minusDays(session.random().nextInt(90));
+                    return get(baseUri, COMPLAINTS + "?from=" + to.minusDays(7) + "&to=" + to + "&size=50");
+                }),
+                scenario("lookup", 35, session -> get(baseUri, COMPLAINTS + "/" + session.random().nextLong(minComplaintId, maxComplaintId + 1))),
+                new Create(baseUri, mapper),
+                new Update(baseUri, mapper),
+                new Cancel(baseUri));
+    }
+
+    /**
+     * Logs in as the given customer and returns a session carrying the bearer token.
+     */
+    public static UserSession login(HttpClient client, URI baseUri, ObjectMapper mapper, String email, long seed) {
+        try {
+            String body = mapper.writeValueAsString(Map.of("email", email, "password", DataGenerator.PASSWORD));
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/v1/auth/login"))
+                    .header("Content-Type", JSON)
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login of " + email + " failed with status " + response.statusCode());
+            }
+            return new UserSession(mapper.readTree(response.body()).get("accessToken").asText(), seed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static LoadHarness.Scenario scenario(String name, int weight, Function<UserSession, HttpRequest> request) {
+        return new LoadHarness.Scenario() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public int weight() {
+                return weight;
+            }
+
+            @Override
+            public HttpRequest request(UserSession session) {
+                return request.apply(session);
+            }
+        };
+    }
+
+    private static HttpRequest get(URI baseUri, String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).header("Accept", JSON).GET().build();
+    }
+
+    private static HttpRequest.Builder authorized(URI baseUri, String path, UserSession session) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Accept", JSON)
+                .header("Authorization", "Bearer " + session.token());
+    }
+
+    private static String json(ObjectMapper mapper, Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Create(URI baseUri, ObjectMapper mapper) implements LoadHarness.Scenario {
+
+        @Override
+        public String name() {
+            return "create";
+        }
+
+        @Override
+        public int weight() {
+            return 12;
+        }
+
+        @Override
+        public HttpRequest request(UserSession session) {
+            String body = json(mapper, Map.of(
+                    "productId", session.random().nextLong(1, 10_001),
+                    "date", LocalDate.now().toString(),
+                    "description", "Load test complaint",
+                    "status", "OPEN"));
+            return authorized(baseUri, COMPLAINTS, session)
+                    .header("Content-Type", JSON)
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        @Override
+        public void onResponse(UserSession session, HttpResponse<String> response) {
+            try {
+                JsonNode complaint = mapper.readTree(response.body());
+                session.ownComplaints().add(complaint.get("id").asLong());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private record Update(URI baseUri, ObjectMapper mapper) implements LoadHarness.Scenario {
+
+        @Override
+        public String name() {
+            return "update";
+        }
+
+        @Override
+        public int weight() {
+            return 8;
+        }
+
+        @Override
+        public HttpRequest request(UserSession session) {
+            if (session.ownComplaints().isEmpty()) {
+                return new Create(baseUri, mapper).request(session);
+            }
+            List<Long> own = session.ownComplaints();
+            long id = own.get(session.random().nextInt(own.size()));
+            String body = json(mapper, Map.of(
+                    "productId", session.random().nextLong(1, 10_001),
+                    "description", "Load test complaint, updated",
+                    "status", "IN_PROGRESS"));
+            return authorized(baseUri, COMPLAINTS + "/" + id, session)
+                    .header("Content-Type", JSON)
+                    .PUT(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        @Override
+        public void onResponse(UserSession session, HttpResponse<String> response) {
+            if (response.statusCode() == 201) {
+                new Create(baseUri, mapper).onResponse(session, response);
+            }
+        }
+    }
+
+    private record Cancel(URI baseUri) implements LoadHarness.Scenario {
+
+        @Override
+        public String name() {
+            return "cancel";
+        }
+
+        @Override
+        public int weight() {
+            return 5;
+        }
+
+        @Override
+        public HttpRequest request(UserSession session) {
+            List<Long> own = session.ownComplaints();
+            if (own.isEmpty()) {
+                return get(baseUri, COMPLAINTS + "?size=1");
+            }
+            long id = own.remove(own.size() - 1);
+            return authorized(baseUri, COMPLAINTS + "/" + id, session).DELETE().build();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.complaints.perf;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the customers and complaints tables with synthetic data through COPY. The distributions follow what the
+ * production data looks like: a few customers file most complaints, recent dates dominate and most complaints end
+ * up closed. Customers can log in with password {@value #PASSWORD}.
+ * <p>
+ * {@code ./gradlew generateData -Pcustomers=100000 -Pcomplaints=5000000} runs it against the compose database.
+ */
+public class DataGenerator {
+
+    public static final String PASSWORD = "password";
+    public static final String EMAIL_FORMAT = "load%d@example.com";
+
+    private static final int CHUNK_ROWS = 10_000;
+    private static final int HISTORY_DAYS = 730;
+    private static final String[] STATUSES = {"OPEN", "IN_PROGRESS", "ACCEPTED", "REJECTED", "CANCELED"};
+    private static final double[] STATUS_WEIGHTS = {0.15, 0.10, 0.40, 0.20, 0.15};
+    private static final String[] PHRASES = {
+            "The product arrived damaged.", "Received the wrong product.", "Delivery was late.",
+            "Refund not processed yet.", "Duplicate charge on the invoice.", "Support is not responding.",
+            "Items missing from the package.", "The product stopped working after a week."};
+
+    private final Connection connection;
+    private final SplittableRandom random;
+
+    public DataGenerator(Connection connection, long seed) {
+        this.connection = connection;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public static void main(String[] args) throws SQLException {
+        String url = System.getProperty("url", "jdbc:postgresql://localhost:5433/complaints");
+        String user = System.getProperty("user", "postgres");
+        String password = System.getProperty("password", "admin");
+        int customers = Integer.getInteger("customers", 100_000);
+        int complaints = Integer.getInteger("complaints", 1_000_000);
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            new DataGenerator(connection, 42).generate(customers, complaints);
+        }
+    }
+
+    /**
+     * Appends the given number of customers and complaints and returns the id of the first generated customer.
+     */
+    public long generate(int customers, int complaints) throws SQLException {
+        long started = System.nanoTime();
+        long firstCustomerId = nextCustomerId();
+        copyCustomers(firstCustomerId, customers);
+        createPartitions();
+        copyComplaints(firstCustomerId, customers, complaints);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE customers");
+            statement.execute("ANALYZE complaints");
+        }
+        System.out.printf("Generated %d customers and %d complaints in %d ms%n",
+                customers, complaints, (System.nanoTime() - started) / 1_000_000);
+        return firstCustomerId;
+    }
+
+    private long nextCustomerId() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT coalesce(max(id), 0) + 1 FROM customers")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private void copyCustomers(long firstId, int count) throws SQLException {
+        CopyIn copy = copyIn("COPY customers (id, name, email, password) FROM STDIN");
+        StringBuilder chunk = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            long id = firstId + i;
+            chunk.append(id).append('\t')
+                    .append("Load Customer ").append(id).append('\t')
+                    .append(EMAIL_FORMAT.formatted(id)).append('\t')
+                    .append("{noop}").append(PASSWORD).append('\n');
+            if ((i + 1) % CHUNK_ROWS == 0) {
+                write(copy, chunk);
+            }
+        }
+        write(copy, chunk);
+        copy.endCopy();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT setval(pg_get_serial_sequence('customers', 'id'), (SELECT max(id) FROM customers))");
+        }
+    }
+
+    private void createPartitions() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT create_complaints_partitions(?, ?)")) {
+            statement.setObject(1, LocalDate.now().minusDays(HISTORY_DAYS));
+            statement.setObject(2, LocalDate.now().plusMonths(1));
+            statement.execute();
+        }
+    }
+
+    private void copyComplaints(long firstCustomerId, int customers, int count) throws SQLException {
+        CopyIn copy = copyIn("COPY complaints (product_id, customer_id, date, description, status) FROM STDIN");
+        StringBuilder chunk = new StringBuilder();
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < count; i++) {
+            chunk.append(100 + random.nextInt(5_000)).append('\t')
+                    .append(firstCustomerId + skewedIndex(customers)).append('\t')
+                    .append(today.minusDays(recentDayOffset())).append('\t')
+                    .append(PHRASES[random.nextInt(PHRASES.length)]).append(" Order ").append(random.nextInt(1_000_000)).append('\t')
+                    .append(status()).append('\n');
+            if ((i + 1) % CHUNK_ROWS == 0) {
+                write(copy, chunk);
+            }
+        }
+        write(copy, chunk);
+        copy.endCopy();
+    }
+
+    /**
+     * Power-law pick: roughly 20% of the customers file 80% of the complaints.
+     */
+    private int skewedIndex(int size) {
+        double u = random.nextDouble();
+        return (int) Math.min(size - 1, Math.floor(size * Math.pow(u, 7)));
+    }
+
+    /**
+     * Exponentially distributed age with a mean of 90 days, capped at the history length.
+     */
+    private long recentDayOffset() {
+        double days = -90 * Math.log(1 - random.nextDouble());
+        return Math.min(HISTORY_DAYS - 1, (long) days);
+    }
+
+    private String status() {
+        double u = random.nextDouble();
+        for (int i = 0; i < STATUSES.length; i++) {
+            u -= STATUS_WEIGHTS[i];
+            if (u < 0) {
+                return STATUSES[i];
+            }
+        }
+        return STATUSES[STATUSES.length - 1];
+    }
+
+    private CopyIn copyIn(String sql) throws SQLException {
+        return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+    }
+
+    private static void write(CopyIn copy, StringBuilder chunk) throws SQLException {
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+}
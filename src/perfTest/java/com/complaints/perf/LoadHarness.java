@@ -0,0 +1,166 @@
+package com.complaints.perf;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Closed-model HTTP load generator: each virtual user runs on its own virtual thread and sends one request at a
+ * time, picking the next scenario by weight, until the duration is over. Latency is recorded per scenario.
+ */
+public class LoadHarness {
+
+    public interface Scenario {
+
+        String name();
+
+        int weight();
+
+        HttpRequest request(UserSession session);
+
+        default void onResponse(UserSession session, HttpResponse<String> response) {
+        }
+    }
+
+    private final HttpClient client;
+    private final List<Scenario> scenarios;
+    private final int totalWeight;
+
+    public LoadHarness(HttpClient client, List<Scenario> scenarios) {
+        this.client = client;
+        this.scenarios = scenarios;
+        this.totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+    }
+
+    public Report run(int virtualUsers, Duration warmup, Duration duration, Function<Integer, UserSession> sessions) throws Exception {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+        List<Future<Map<String, Samples>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < virtualUsers; i++) {
+                int user = i;
+                results.add(executor.submit(() -> runUser(sessions.apply(user), measureFrom, deadline)));
+            }
+        }
+
+        Map<String, Samples> merged = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> merged.put(scenario.name(), new Samples()));
+        for (Future<Map<String, Samples>> result : results) {
+            result.get().forEach((name, samples) -> merged.get(name).addAll(samples));
+        }
+        return new Report(merged, duration);
+    }
+
+    private Map<String, Samples> runUser(UserSession session, long measureFrom, long deadline) {
+        Map<String, Samples> samples = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> samples.put(scenario.name(), new Samples()));
+        while (System.nanoTime() < deadline) {
+            Scenario scenario = pick(session);
+            long started = System.nanoTime();
+            boolean ok;
+            try {
+                HttpResponse<String> response = client.send(scenario.request(session), HttpResponse.BodyHandlers.ofString());
+                ok = response.statusCode() < 400;
+                if (ok) {
+                    scenario.onResponse(session, response);
+                }
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long finished = System.nanoTime();
+            if (started >= measureFrom) {
+                samples.get(scenario.name()).add(finished - started, ok);
+            }
+        }
+        return samples;
+    }
+
+    private Scenario pick(UserSession session) {
+        int ticket = session.random().nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            ticket -= scenario.weight();
+            if (ticket < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    static class Samples {
+
+        private long[] nanos = new long[1024];
+        private int size;
+        private int errors;
+
+        void add(long latency, boolean ok) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latency;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.nanos[i], true);
+            }
+            errors += other.errors;
+        }
+
+        double percentileMillis(double percentile) {
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(size - 1, Math.ceil(percentile / 100 * size) - 1);
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+
+    public record Report(Map<String, Samples> samples, Duration duration) {
+
+        public int errors() {
+            return samples.values().stream().mapToInt(s -> s.errors).sum();
+        }
+
+        public int requests() {
+            return samples.values().stream().mapToInt(s -> s.size).sum();
+        }
+
+        public String format() {
+            StringBuilder report = new StringBuilder();
+            report.append(String.format("%-14s %8s %7s %9s %9s %9s %9s %9s%n",
+                    "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+            Samples all = new Samples();
+            samples.forEach((name, s) -> {
+                all.addAll(s);
+                report.append(line(name, s));
+            });
+            report.append(line("total", all));
+            return report.toString();
+        }
+
+        private String line(String name, Samples s) {
+            return String.format("%-14s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    name, s.size, s.errors, s.size / (duration.toMillis() / 1000.0),
+                    s.percentileMillis(50), s.percentileMillis(90), s.percentileMillis(99), s.percentileMillis(100));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.complaints.perf;
+
+import com.complaints.controller.ComplaintQueryRegressionTest;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The read endpoints of {@link ComplaintQueryRegressionTest} with their p95 latency checked against
+ * {@code query-baseline.properties} as well, and every statement limited to {@link #SLOW_STATEMENT}. Runs in the
+ * perfTest task, where test classes do not run in parallel, so the timings are not skewed by other tests.
+ */
+class QueryLatencyTest extends ComplaintQueryRegressionTest {
+
+    private static final Duration SLOW_STATEMENT = Duration.ofMillis(100);
+
+    @Override
+    protected void verify(Measurement measurement) {
+        super.verify(measurement);
+        assertThat(measurement.slowestStatementMillis())
+                .as("slowest statement in ms of %s", measurement.endpoint())
+                .isLessThanOrEqualTo(SLOW_STATEMENT.toMillis());
+        baseline.verifyLatency(measurement.endpoint(), measurement.p95Millis());
+    }
+}
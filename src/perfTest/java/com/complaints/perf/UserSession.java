@@ -0,0 +1,32 @@
+package com.complaints.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * State of one virtual user: its bearer token and the complaints it created and may still modify.
+ */
+public class UserSession {
+
+    private final String token;
+    private final SplittableRandom random;
+    private final List<Long> ownComplaints = new ArrayList<>();
+
+    public UserSession(String token, long seed) {
+        this.token = token;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public String token() {
+        return token;
+    }
+
+    public SplittableRandom random() {
+        return random;
+    }
+
+    public List<Long> ownComplaints() {
+        return ownComplaints;
+    }
+}
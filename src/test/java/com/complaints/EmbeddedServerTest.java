@@ -0,0 +1,61 @@
+package com.complaints;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "server"})
+class EmbeddedServerTest {
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void serverProfile_shouldServeHttp2OverCleartext() throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health")).GET().build();
+
+        HttpResponse<String> first = client.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> second = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertThat(first.statusCode()).isEqualTo(200);
+        assertThat(second.version()).isEqualTo(HttpClient.Version.HTTP_2);
+    }
+
+    @Test
+    void actuator_shouldRequireAuthenticationExceptForHealth() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest metrics = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/metrics")).GET().build();
+
+        assertThat(client.send(metrics, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(401);
+    }
+
+    @Test
+    void serverProfile_shouldPublishConnectorMetrics() {
+        assertThat(meterRegistry.find("tomcat.connections.current").gauge() != null
+                || meterRegistry.find("jetty.connections.current").gauge() != null).isTrue();
+        assertThat(meterRegistry.find("tomcat.threads.busy").gauge() != null
+                || meterRegistry.find("jetty.threads.busy").gauge() != null).isTrue();
+    }
+}
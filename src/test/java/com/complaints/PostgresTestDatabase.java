@@ -0,0 +1,69 @@
+package com.complaints;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One PostgreSQL container for the whole test JVM. Migrations run once into a template database, and every
+ * registration clones it into a fresh database, so test classes are isolated without paying for another container
+ * or another Flyway run. Use it from {@code @DynamicPropertySource} methods together with the {@code test} profile.
+ */
+public final class PostgresTestDatabase {
+
+    private static final String TEMPLATE = "complaints_template";
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    // Durability is irrelevant for throwaway data; tmpfs and fsync=off make migrations and clones much faster
+    private static final PostgreSQLContainer<?> CONTAINER = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16.3"))
+            .withTmpFs(Map.of("/var/lib/postgresql/data", "rw"))
+            .withCommand("postgres", "-c", "fsync=off", "-c", "synchronous_commit=off", "-c", "full_page_writes=off",
+                    "-c", "max_connections=300");
+
+    static {
+        CONTAINER.start();
+        execute("CREATE DATABASE " + TEMPLATE);
+        Flyway.configure()
+                .dataSource(jdbcUrl(TEMPLATE), CONTAINER.getUsername(), CONTAINER.getPassword())
+                .load()
+                .migrate();
+    }
+
+    private PostgresTestDatabase() {
+    }
+
+    public static void register(DynamicPropertyRegistry registry) {
+        String url = jdbcUrl(cloneTemplate());
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", CONTAINER::getUsername);
+        registry.add("spring.datasource.password", CONTAINER::getPassword);
+    }
+
+    // CREATE DATABASE fails while another session is copying the same template
+    private static synchronized String cloneTemplate() {
+        String name = "test_" + DATABASES.incrementAndGet();
+        execute("CREATE DATABASE " + name + " TEMPLATE " + TEMPLATE);
+        return name;
+    }
+
+    private static String jdbcUrl(String database) {
+        return "jdbc:postgresql://" + CONTAINER.getHost() + ":" + CONTAINER.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + database;
+    }
+
+    private static void execute(String sql) {
+        try (Connection connection = DriverManager.getConnection(CONTAINER.getJdbcUrl(), CONTAINER.getUsername(), CONTAINER.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not execute " + sql, e);
+        }
+    }
+}
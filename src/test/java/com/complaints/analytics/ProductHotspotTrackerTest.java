@@ -0,0 +1,117 @@
+package com.complaints.analytics;
+
+import com.complaints.dto.response.ProductHotspotResponse;
+import com.complaints.exception.InvalidRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ProductHotspotTrackerTest {
+
+    private MutableClock clock;
+    private ProductHotspotTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        tracker = new ProductHotspotTracker(clock, Duration.ofMinutes(10), 10, 3);
+    }
+
+    @Test
+    void testTopReturnsMostComplainedProductsFirst() {
+        record(101L, 5);
+        record(102L, 2);
+        record(103L, 8);
+
+        assertThat(tracker.top(2)).containsExactly(
+                new ProductHotspotResponse(103L, 8, 0),
+                new ProductHotspotResponse(101L, 5, 0));
+    }
+
+    @Test
+    void testNewProductReplacesLeastCountedWhenFull() {
+        record(101L, 5);
+        record(102L, 1);
+        record(103L, 4);
+        record(104L, 1);
+
+        assertThat(tracker.top(3)).containsExactly(
+                new ProductHotspotResponse(101L, 5, 0),
+                new ProductHotspotResponse(103L, 4, 0),
+                new ProductHotspotResponse(104L, 2, 1));
+    }
+
+    @Test
+    void testProductMissingFromFullBucketIsBoundedByThatBucketsMinimum() {
+        record(101L, 2);
+        record(102L, 3);
+        record(103L, 3);
+        record(104L, 3);
+        clock.advance(Duration.ofMinutes(1));
+        record(101L, 4);
+
+        // 101 was replaced by 104 in the first bucket, where it had at most 3 complaints
+        assertThat(tracker.top(2)).containsExactly(
+                new ProductHotspotResponse(101L, 7, 3),
+                new ProductHotspotResponse(104L, 5, 2));
+    }
+
+    @Test
+    void testCountsAreMergedAcrossBucketsAndExpireWithTheWindow() {
+        record(101L, 3);
+        clock.advance(Duration.ofMinutes(5));
+        record(101L, 2);
+
+        assertThat(tracker.top(1)).containsExactly(new ProductHotspotResponse(101L, 5, 0));
+
+        clock.advance(Duration.ofMinutes(6));
+        assertThat(tracker.top(1)).containsExactly(new ProductHotspotResponse(101L, 2, 0));
+
+        clock.advance(Duration.ofMinutes(5));
+        assertThat(tracker.top(1)).isEmpty();
+    }
+
+    @Test
+    void testLimitOutOfRange() {
+        assertThatThrownBy(() -> tracker.top(4))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private void record(Long productId, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(productId);
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
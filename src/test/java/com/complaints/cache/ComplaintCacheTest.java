@@ -0,0 +1,128 @@
+package com.complaints.cache;
+
+import com.complaints.event.ComplaintChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ComplaintCacheTest {
+
+    private SharedCacheStore shared;
+    private ComplaintCache node1;
+    private ComplaintCache node2;
+
+    @BeforeEach
+    void setUp() {
+        shared = new InMemorySharedCacheStore();
+        node1 = new ComplaintCache(shared, new SimpleMeterRegistry(), Duration.ofMinutes(1), 100, Duration.ofMinutes(5), Duration.ofSeconds(5), Duration.ofSeconds(5));
+        node2 = new ComplaintCache(shared, new SimpleMeterRegistry(), Duration.ofMinutes(1), 100, Duration.ofMinutes(5), Duration.ofSeconds(5), Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testLoadsOnceAndServesOtherNodeFromSharedStore() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(node1.getComplaint(1L, () -> "complaint-" + loads.incrementAndGet())).isEqualTo("complaint-1");
+        assertThat(node1.getComplaint(1L, () -> "complaint-" + loads.incrementAndGet())).isEqualTo("complaint-1");
+        assertThat(node2.getComplaint(1L, () -> "complaint-" + loads.incrementAndGet())).isEqualTo("complaint-1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void testChangeOnOneNodeEvictsEveryNode() {
+        node1.getComplaint(1L, () -> "old");
+        node2.getComplaint(1L, () -> "old");
+        node2.getListing("all", () -> "old listing");
+
+        node1.onComplaintChanged(new ComplaintChangedEvent(1L));
+
+        assertThat(shared.get("complaint:1")).isNull();
+        assertThat(node2.getComplaint(1L, () -> "new")).isEqualTo("new");
+        assertThat(node2.getListing("all", () -> "new listing")).isEqualTo("new listing");
+    }
+
+    @Test
+    void testConcurrentMissesShareOneLoad() throws Exception {
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> node1.getComplaint(1L, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "loaded";
+            })));
+            loading.await(5, TimeUnit.SECONDS);
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> node1.getComplaint(1L, () -> {
+                    loads.incrementAndGet();
+                    return "duplicate";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testValueLoadedDuringChangeIsNotCached() {
+        node1.getComplaint(1L, () -> {
+            node2.onComplaintChanged(new ComplaintChangedEvent(1L));
+            return "stale";
+        });
+
+        assertThat(node1.getComplaint(1L, () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void testChangeToOtherComplaintDoesNotDiscardLoad() {
+        node1.getComplaint(1L, () -> {
+            node2.onComplaintChanged(new ComplaintChangedEvent(2L));
+            return "loaded";
+        });
+
+        assertThat(node1.getComplaint(1L, () -> "reloaded")).isEqualTo("loaded");
+    }
+
+    @Test
+    void testListingLoadedDuringChangeIsNotCached() {
+        node1.getListing("all", () -> {
+            node2.onComplaintChanged(new ComplaintChangedEvent(7L));
+            return "stale listing";
+        });
+
+        assertThat(node1.getListing("all", () -> "fresh listing")).isEqualTo("fresh listing");
+        assertThat(shared.get("listing:all")).isEqualTo("fresh listing");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.complaints.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RequestCoalescerTest {
+
+    private SimpleMeterRegistry registry;
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer("test", registry, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testConcurrentIdenticalCallsShareOneExecution() throws Exception {
+        int callers = 10;
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(executor.submit(() -> coalescer.execute("key", () -> {
+                started.countDown();
+                await(release);
+                return executions.incrementAndGet();
+            })));
+            started.await(5, TimeUnit.SECONDS);
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> coalescer.execute("key", executions::incrementAndGet)));
+            }
+            while (registry.get("complaints.coalescer.calls").tag("outcome", "coalesced").counter().count() < callers - 1) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            }
+            assertThat(executions).hasValue(1);
+            assertThat(coalescer.coalescingRatio()).isEqualTo(0.9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSequentialCallsExecuteEachTime() {
+        AtomicInteger executions = new AtomicInteger();
+
+        coalescer.execute("key", executions::incrementAndGet);
+        coalescer.execute("key", executions::incrementAndGet);
+
+        assertThat(executions).hasValue(2);
+        assertThat(coalescer.coalescingRatio()).isZero();
+        assertThat(registry.get("complaints.coalescer.in.flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void testFailureIsSharedAndNotRemembered() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = executor.submit(() -> coalescer.execute("key", () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("boom");
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            Future<Object> follower = executor.submit(() -> coalescer.execute("key", () -> "unused"));
+            while (registry.get("complaints.coalescer.calls").tag("outcome", "coalesced").counter().count() < 1) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(IllegalStateException.class);
+            assertThat(coalescer.execute("key", () -> "recovered")).isEqualTo("recovered");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFollowerStopsWaitingForStuckCall() throws Exception {
+        RequestCoalescer impatient = new RequestCoalescer("impatient", registry, Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = executor.submit(() -> impatient.execute("key", () -> {
+                started.countDown();
+                await(release);
+                return "leader";
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            assertThat(impatient.execute("key", () -> "follower")).isEqualTo("follower");
+            assertThat(registry.get("complaints.coalescer.calls").tag("name", "impatient").tag("outcome", "timed_out").counter().count())
+                    .isEqualTo(1);
+            release.countDown();
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
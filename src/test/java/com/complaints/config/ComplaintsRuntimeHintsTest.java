@@ -0,0 +1,35 @@
+package com.complaints.config;
+
+import com.complaints.dto.response.ComplaintBatchResponse;
+import com.complaints.dto.response.ComplaintResponse;
+import com.complaints.entity.Complaint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ComplaintsRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new ComplaintsRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void testModelMapperTypesAreReflective() throws NoSuchMethodException {
+        assertThat(RuntimeHintsPredicates.reflection().onType(Complaint.class).withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(ComplaintResponse.class.getMethod("setDescription", String.class))).accepts(hints);
+    }
+
+    @Test
+    void testResponseWrappersAreBindable() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(ComplaintBatchResponse.class)).accepts(hints);
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.complaints.config;
+
+import com.complaints.dto.request.ComplaintCreateRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidationConfigTest {
+
+    @Test
+    void defaultValidator_shouldReportEveryViolationByDefault() {
+        assertThat(violations(false)).isEqualTo(4);
+    }
+
+    @Test
+    void defaultValidator_shouldStopAtFirstViolationInFailFastMode() {
+        assertThat(violations(true)).isEqualTo(1);
+    }
+
+    private int violations(boolean failFast) {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.refresh();
+            LocalValidatorFactoryBean validator = ValidationConfig.defaultValidator(context, failFast);
+            validator.afterPropertiesSet();
+            try {
+                return validator.validate(new ComplaintCreateRequest()).size();
+            } finally {
+                validator.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.complaints.controller;
+
+import com.complaints.config.SecurityConfig;
+import com.complaints.dto.request.LoginRequest;
+import com.complaints.dto.response.TokenResponse;
+import com.complaints.service.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisabledInAotMode
+@WebMvcTest(AuthController.class)
+@Import(SecurityConfig.class)
+@ActiveProfiles("test")
+public class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AuthenticationManager authenticationManager;
+
+    @MockBean
+    private TokenService tokenService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void login_shouldReturnToken() throws Exception {
+        TestingAuthenticationToken authentication = new TestingAuthenticationToken("test@example.com", "password123");
+        when(authenticationManager.authenticate(ArgumentMatchers.any())).thenReturn(authentication);
+        when(tokenService.issue(authentication)).thenReturn(new TokenResponse("token", "Bearer", 900));
+
+        mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest("password123"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").value("token"))
+                .andExpect(jsonPath("$.tokenType").value("Bearer"));
+    }
+
+    @Test
+    void login_shouldReturnUnauthorizedForBadCredentials() throws Exception {
+        when(authenticationManager.authenticate(ArgumentMatchers.any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest("wrong"))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private LoginRequest loginRequest(String password) {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail("test@example.com");
+        loginRequest.setPassword(password);
+        return loginRequest;
+    }
+}
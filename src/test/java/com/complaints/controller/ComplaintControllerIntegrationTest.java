@@ -0,0 +1,123 @@
+package com.complaints.controller;
+
+import com.complaints.PostgresTestDatabase;
+import com.complaints.dto.request.ComplaintCreateRequest;
+import com.complaints.dto.request.ComplaintUpdateRequest;
+import com.complaints.entity.enums.Status;
+import com.complaints.service.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.LocalDate;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The complaint endpoints end to end against the test database. Unlike {@link ComplaintControllerTest} it uses no
+ * mocks, so it also runs under {@code ./gradlew nativeTest}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ComplaintControllerIntegrationTest {
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private RequestPostProcessor customer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO customers (name, email, password) VALUES ('Integration Customer', 'integration@example.com', " +
+                "'{noop}password') ON CONFLICT DO NOTHING");
+        Long customerId = jdbcTemplate.queryForObject("SELECT id FROM customers WHERE email = 'integration@example.com'", Long.class);
+        customer = jwt().jwt(token -> token.claim(TokenService.CUSTOMER_ID_CLAIM, customerId));
+    }
+
+    @Test
+    void complaint_shouldBeCreatedReadUpdatedAndCancelled() throws Exception {
+        ComplaintCreateRequest createRequest = new ComplaintCreateRequest();
+        createRequest.setProductId(1L);
+        createRequest.setDescription("Integration complaint");
+        createRequest.setDate(LocalDate.now());
+        createRequest.setStatus(Status.OPEN);
+
+        String created = mockMvc.perform(post("/api/v1/complaints")
+                        .with(customer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.description").value("Integration complaint"))
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(created).get("id").asLong();
+
+        mockMvc.perform(get("/api/v1/complaints/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("Integration complaint"));
+
+        ComplaintUpdateRequest updateRequest = new ComplaintUpdateRequest();
+        updateRequest.setProductId(2L);
+        updateRequest.setDescription("Updated integration complaint");
+        updateRequest.setStatus(Status.IN_PROGRESS);
+        mockMvc.perform(put("/api/v1/complaints/{id}", id)
+                        .with(customer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("Updated integration complaint"));
+
+        mockMvc.perform(delete("/api/v1/complaints/{id}", id).with(customer))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/complaints/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELED"));
+    }
+
+    @Test
+    void getComplaintById_shouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/v1/complaints/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void addComplaint_shouldReturnBadRequestForInvalidInput() throws Exception {
+        mockMvc.perform(post("/api/v1/complaints")
+                        .with(customer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors.productId").value("Product ID cannot be null"));
+    }
+
+    @Test
+    void addComplaint_withoutCredentials_shouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(post("/api/v1/complaints")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -1,11 +1,17 @@
 package com.complaints.controller;
 
+import com.complaints.analytics.ProductHotspotTracker;
 import com.complaints.config.SecurityConfig;
 import com.complaints.dto.request.ComplaintCreateRequest;
 import com.complaints.dto.request.ComplaintUpdateRequest;
+import com.complaints.dto.response.CompactComplaintsResponse;
+import com.complaints.dto.response.ComplaintBatchResponse;
 import com.complaints.dto.response.ComplaintResponse;
+import com.complaints.dto.response.CustomerResponse;
+import com.complaints.dto.response.ProductHotspotResponse;
 import com.complaints.entity.enums.Status;
 import com.complaints.exception.EntityNotFoundException;
+import com.complaints.exception.InvalidRequestException;
 import com.complaints.service.ComplaintService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,20 +22,29 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+@DisabledInAotMode
 @WebMvcTest(ComplaintController.class)
 @Import(SecurityConfig.class)
+@ActiveProfiles("test")
 public class ComplaintControllerTest {
 
     @Autowired
@@ -38,6 +53,9 @@ public class ComplaintControllerTest {
     @MockBean
     private ComplaintService complaintService;
 
+    @MockBean
+    private ProductHotspotTracker hotspotTracker;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -86,6 +104,111 @@ public class ComplaintControllerTest {
                 .andExpect(jsonPath("$[0].description").value("Complaint 1"));
     }
 
+    @WithAnonymousUser
+    @Test
+    void getComplaints_compact_shouldReferenceCustomersByIndex() throws Exception {
+        CustomerResponse customer = new CustomerResponse("john.doe@email.com", "John Doe");
+        complaint1.setCustomer(customer);
+        complaint2.setCustomer(customer);
+        when(complaintService.findAll()).thenReturn(List.of(complaint1, complaint2));
+
+        mockMvc.perform(get("/api/v1/complaints").param("view", "compact"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CompactComplaintsResponse.MEDIA_TYPE))
+                .andExpect(jsonPath("$.customers.length()").value(1))
+                .andExpect(jsonPath("$.customers[0].email").value("john.doe@email.com"))
+                .andExpect(jsonPath("$.complaints[0].customer").value(0))
+                .andExpect(jsonPath("$.complaints[1].customer").value(0))
+                .andExpect(jsonPath("$.complaints[1].description").value("Complaint 2"));
+    }
+
+    @WithAnonymousUser
+    @Test
+    void getComplaints_withFields_shouldReturnOnlyRequestedFields() throws Exception {
+        when(complaintService.findAllFields(Set.of("id", "status")))
+                .thenReturn(List.of(Map.of("id", 1L, "status", Status.OPEN)));
+
+        mockMvc.perform(get("/api/v1/complaints").param("fields", "id,status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[0].status").value("OPEN"))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @WithAnonymousUser
+    @Test
+    void getComplaints_withFieldsAndDateRange_shouldSearchFields() throws Exception {
+        LocalDate from = LocalDate.of(2024, 12, 1);
+        when(complaintService.searchFields(Set.of("id"), from, null, PageRequest.of(0, 100, Sort.by("date", "id"))))
+                .thenReturn(List.of(Map.of("id", 1L)));
+
+        mockMvc.perform(get("/api/v1/complaints").param("fields", "id").param("from", "2024-12-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L));
+
+        Mockito.verify(complaintService, Mockito.never()).findAllFields(ArgumentMatchers.any());
+    }
+
+    @WithAnonymousUser
+    @Test
+    void getComplaints_withUnknownField_shouldReturnBadRequest() throws Exception {
+        when(complaintService.findAllFields(Set.of("password")))
+                .thenThrow(new InvalidRequestException("Unknown field password."));
+
+        mockMvc.perform(get("/api/v1/complaints").param("fields", "password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @WithAnonymousUser
+    @Test
+    void getComplaintsByIds_shouldReturnFoundAndMissing() throws Exception {
+        when(complaintService.findAllById(List.of(2L, 3L, 1L)))
+                .thenReturn(new ComplaintBatchResponse(List.of(complaint2, complaint1), List.of(3L)));
+
+        mockMvc.perform(get("/api/v1/complaints/batch").param("ids", "2,3,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.complaints[0].id").value(2L))
+                .andExpect(jsonPath("$.complaints[1].id").value(1L))
+                .andExpect(jsonPath("$.missingIds[0]").value(3L));
+    }
+
+    @WithAnonymousUser
+    @Test
+    void getHotspots_shouldReturnTopProducts() throws Exception {
+        when(hotspotTracker.top(2)).thenReturn(List.of(
+                new ProductHotspotResponse(101L, 12, 0),
+                new ProductHotspotResponse(102L, 7, 1)));
+
+        mockMvc.perform(get("/api/v1/complaints/hotspots").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].productId").value(101L))
+                .andExpect(jsonPath("$[0].complaints").value(12))
+                .andExpect(jsonPath("$[1].maxOverestimate").value(1));
+    }
+
+    @WithAnonymousUser
+    @Test
+    void getComplaints_cbor_shouldReturnBinaryRepresentation() throws Exception {
+        when(complaintService.findAll()).thenReturn(List.of(complaint1, complaint2));
+
+        mockMvc.perform(get("/api/v1/complaints").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+    }
+
+    @WithAnonymousUser
+    @Test
+    void getComplaints_withDateRange_shouldSearchComplaints() throws Exception {
+        when(complaintService.search(ArgumentMatchers.eq(LocalDate.of(2024, 12, 1)), ArgumentMatchers.eq(LocalDate.of(2024, 12, 31)), ArgumentMatchers.any()))
+                .thenReturn(List.of(complaint2));
+
+        mockMvc.perform(get("/api/v1/complaints")
+                        .param("from", "2024-12-01")
+                        .param("to", "2024-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2L));
+    }
+
     @WithAnonymousUser
     @Test
     void getComplaintById_shouldReturnComplaint() throws Exception {
@@ -125,6 +248,33 @@ public class ComplaintControllerTest {
                 .andExpect(jsonPath("$.description").value("Complaint 1"));
     }
 
+    @Test
+    void addComplaint_withBearerToken_shouldCreateComplaint() throws Exception {
+        ComplaintCreateRequest createRequest = new ComplaintCreateRequest();
+        createRequest.setProductId(1L);
+        createRequest.setDescription("New Complaint");
+        createRequest.setDate(LocalDate.now());
+        createRequest.setStatus(Status.OPEN);
+
+        when(complaintService.save(ArgumentMatchers.any())).thenReturn(complaint1);
+
+        mockMvc.perform(post("/api/v1/complaints")
+                        .with(jwt().jwt(token -> token.claim("customer_id", 1L)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1L));
+    }
+
+    @WithAnonymousUser
+    @Test
+    void addComplaint_withoutCredentials_shouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(post("/api/v1/complaints")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isUnauthorized());
+    }
+
     @WithMockUser
     @Test
     void addComplaint_shouldReturnBadRequestForInvalidInput() throws Exception {
@@ -133,7 +283,9 @@ public class ComplaintControllerTest {
         mockMvc.perform(post("/api/v1/complaints")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(createRequest)))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Validation failed"))
+                .andExpect(jsonPath("$.validationErrors.productId").value("Product ID cannot be null"));
     }
 
     @WithMockUser
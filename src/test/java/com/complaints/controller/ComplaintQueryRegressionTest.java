@@ -0,0 +1,152 @@
+package com.complaints.controller;
+
+import com.complaints.PostgresTestDatabase;
+import com.complaints.service.TokenService;
+import com.complaints.sql.QueryBaseline;
+import com.complaints.sql.RecordedStatement;
+import com.complaints.sql.SqlRecorder;
+import com.complaints.sql.SqlRecordingConfiguration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the read endpoints against a fixed dataset of 20 customers and 2000 complaints with caching disabled and
+ * compares statements per request to {@code query-baseline.properties}. Latencies are checked by
+ * {@code QueryLatencyTest} in perfTest, as test classes here run in parallel.
+ */
+@SpringBootTest(properties = "complaints.cache.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(SqlRecordingConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ComplaintQueryRegressionTest {
+
+    private static final int CUSTOMERS = 20;
+    private static final int COMPLAINTS = 2000;
+    private static final int WARMUP_REQUESTS = 5;
+    private static final int MEASURED_REQUESTS = 30;
+
+    protected final QueryBaseline baseline = new QueryBaseline();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlRecorder sqlRecorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long customerId;
+    private long complaintId;
+
+    @BeforeAll
+    void createDataset() {
+        LocalDate today = LocalDate.now();
+        jdbcTemplate.queryForObject("SELECT create_complaints_partitions(?, ?)", Integer.class, today.minusDays(90), today);
+        jdbcTemplate.update("DELETE FROM complaints");
+        jdbcTemplate.batchUpdate("INSERT INTO customers (name, email, password) VALUES (?, ?, '{noop}password')",
+                IntStream.range(0, CUSTOMERS)
+                        .mapToObj(i -> new Object[]{"Customer " + i, "query" + i + "@example.com"})
+                        .toList());
+        List<Long> customerIds = jdbcTemplate.queryForList("SELECT id FROM customers WHERE email LIKE 'query%' ORDER BY id", Long.class);
+        List<Object[]> complaints = new ArrayList<>(COMPLAINTS);
+        for (int i = 0; i < COMPLAINTS; i++) {
+            complaints.add(new Object[]{100L + i % 50, customerIds.get(i % CUSTOMERS), today.minusDays(i % 60), "Complaint " + i, "OPEN"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO complaints (product_id, customer_id, date, description, status) VALUES (?, ?, ?, ?, ?)", complaints);
+        jdbcTemplate.execute("ANALYZE complaints");
+        customerId = customerIds.get(0);
+        complaintId = jdbcTemplate.queryForObject("SELECT min(id) FROM complaints", Long.class);
+    }
+
+    @Test
+    void listComplaints() throws Exception {
+        measure("complaints.list", get("/api/v1/complaints").param("page", "3").param("size", "50"));
+    }
+
+    @Test
+    void searchComplaintsByDate() throws Exception {
+        LocalDate today = LocalDate.now();
+        measure("complaints.search", get("/api/v1/complaints")
+                .param("from", today.minusDays(30).toString())
+                .param("to", today.toString())
+                .param("size", "50"));
+    }
+
+    @Test
+    void getComplaintById() throws Exception {
+        measure("complaints.get", get("/api/v1/complaints/{id}", complaintId));
+    }
+
+    @Test
+    void getComplaintsByIds() throws Exception {
+        String ids = String.join(",", LongStream.range(complaintId, complaintId + 50).mapToObj(String::valueOf).toList());
+        measure("complaints.batch", get("/api/v1/complaints/batch").param("ids", ids));
+    }
+
+    @Test
+    void getMyComplaints() throws Exception {
+        measure("customers.me.complaints", get("/api/v1/customers/me/complaints")
+                .with(jwt().jwt(jwt -> jwt.claim(TokenService.CUSTOMER_ID_CLAIM, customerId))));
+    }
+
+    private void measure(String endpoint, RequestBuilder request) throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            mockMvc.perform(request).andExpect(status().isOk());
+        }
+        int maxStatements = 0;
+        long slowestStatementMillis = 0;
+        long[] latencies = new long[MEASURED_REQUESTS];
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            sqlRecorder.reset();
+            long started = System.nanoTime();
+            mockMvc.perform(request).andExpect(status().isOk());
+            latencies[i] = System.nanoTime() - started;
+            maxStatements = Math.max(maxStatements, sqlRecorder.count());
+            for (RecordedStatement statement : sqlRecorder.statements()) {
+                slowestStatementMillis = Math.max(slowestStatementMillis, statement.elapsedMillis());
+            }
+        }
+        Arrays.sort(latencies);
+        double p95Millis = latencies[(int) Math.ceil(MEASURED_REQUESTS * 0.95) - 1] / 1_000_000.0;
+        verify(new Measurement(endpoint, maxStatements, p95Millis, slowestStatementMillis));
+    }
+
+    protected void verify(Measurement measurement) {
+        baseline.verifyStatements(measurement.endpoint(), measurement.statements());
+    }
+
+    /**
+     * Worst statement count, p95 latency and slowest single statement over the measured requests to one endpoint.
+     */
+    protected record Measurement(String endpoint, int statements, double p95Millis, long slowestStatementMillis) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.complaints.controller;
+
+import com.complaints.config.SecurityConfig;
+import com.complaints.dto.response.ComplaintPageResponse;
+import com.complaints.dto.response.ComplaintResponse;
+import com.complaints.entity.enums.Status;
+import com.complaints.exception.InvalidRequestException;
+import com.complaints.service.ComplaintService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisabledInAotMode
+@WebMvcTest(CustomerController.class)
+@Import(SecurityConfig.class)
+@ActiveProfiles("test")
+public class CustomerControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ComplaintService complaintService;
+
+    @WithMockUser
+    @Test
+    void getMyComplaints_shouldReturnPageWithCursor() throws Exception {
+        ComplaintResponse complaint = new ComplaintResponse();
+        complaint.setId(1L);
+        complaint.setDate(LocalDate.now());
+        complaint.setStatus(Status.OPEN);
+        when(complaintService.findByAuthenticatedCustomer(null, 100)).thenReturn(new ComplaintPageResponse(List.of(complaint), "next"));
+
+        mockMvc.perform(get("/api/v1/customers/me/complaints"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.complaints[0].id").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @WithMockUser
+    @Test
+    void getMyComplaints_withInvalidCursor_shouldReturnBadRequest() throws Exception {
+        when(complaintService.findByAuthenticatedCustomer("bad", 10)).thenThrow(new InvalidRequestException("Invalid cursor bad."));
+
+        mockMvc.perform(get("/api/v1/customers/me/complaints").param("cursor", "bad").param("size", "10"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @WithAnonymousUser
+    @Test
+    void getMyComplaints_anonymous_shouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/v1/customers/me/complaints"))
+                .andExpect(status().isUnauthorized());
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.complaints.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RateLimitedLogTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private Logger logger;
+    private RateLimitedLog log;
+
+    @BeforeEach
+    void setUp() {
+        logger = mock(Logger.class);
+        when(logger.isWarnEnabled()).thenReturn(true);
+        log = new RateLimitedLog(logger, Duration.ofSeconds(10), nanos::get);
+    }
+
+    @Test
+    void warn_shouldWriteOncePerIntervalAndReportSuppressedCount() {
+        log.warn("Validation of {} failed", "a");
+        log.warn("Validation of {} failed", "b");
+        log.warn("Validation of {} failed", "c");
+        verify(logger).warn("Validation of {} failed", new Object[]{"a"});
+
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+        log.warn("Validation of {} failed", "d");
+
+        verify(logger).warn("Validation of {} failed ({} similar messages suppressed)", new Object[]{"d", 2L});
+        verify(logger, times(2)).warn(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void warn_shouldNotCountWhenWarningsAreDisabled() {
+        when(logger.isWarnEnabled()).thenReturn(false);
+
+        log.warn("Validation of {} failed", "a");
+
+        verify(logger, never()).warn(anyString(), any(Object[].class));
+    }
+}
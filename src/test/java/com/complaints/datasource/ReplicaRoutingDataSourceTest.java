@@ -0,0 +1,112 @@
+package com.complaints.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisabledInNativeImage
+public class ReplicaRoutingDataSourceTest {
+
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private DataSource replica;
+    private ReplicaLagMonitor lagMonitor;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        lagMonitor = new ReplicaLagMonitor(Map.of("replica-0", replica), Duration.ofSeconds(10));
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1), 100);
+        routingDataSource = new ReplicaRoutingDataSource(primary, lagMonitor.replicas(), lagMonitor, tracker);
+        routingDataSource.afterPropertiesSet();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("test@example.com", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReadOnlyTransactionUsesReplica() throws SQLException {
+        beginTransaction(true);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void testWriteTransactionUsesPrimary() throws SQLException {
+        beginTransaction(false);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void testReadAfterWriteStaysOnPrimary() throws SQLException {
+        beginTransaction(false);
+        routingDataSource.getConnection();
+
+        beginTransaction(true);
+
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void testReadsOnPrimarySkipReplica() throws SQLException {
+        SecurityContextHolder.clearContext();
+
+        Connection connection = ReplicaRoutingDataSource.onPrimary(() -> {
+            beginTransaction(true);
+            try {
+                return routingDataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(connection).isSameAs(primaryConnection);
+        beginTransaction(true);
+        assertThat(routingDataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void testUnavailableReplicaFallsBackToPrimary() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        lagMonitor.checkReplicas();
+
+        beginTransaction(true);
+
+        assertThat(lagMonitor.healthyReplicas()).isEmpty();
+        assertThat(routingDataSource.getConnection()).isSameAs(primaryConnection);
+    }
+
+    private void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+}
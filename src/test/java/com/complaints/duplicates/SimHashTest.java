@@ -0,0 +1,36 @@
+package com.complaints.duplicates;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SimHashTest {
+
+    @Test
+    void testSameWordsIgnoringCaseAndPunctuationGiveSameSignature() {
+        assertThat(SimHash.of("The product arrived damaged."))
+                .isEqualTo(SimHash.of("the product, arrived DAMAGED"));
+    }
+
+    @Test
+    void testSimilarTextsAreCloserThanDifferentTexts() {
+        long original = SimHash.of("The blender I ordered arrived with a cracked jar and the lid does not close properly");
+        long similar = SimHash.of("The blender I ordered arrived with a cracked jar and the lid does not close at all");
+        long different = SimHash.of("Refund for my cancelled subscription has still not been processed after two weeks");
+
+        assertThat(SimHash.distance(original, similar)).isLessThan(SimHash.distance(original, different));
+    }
+
+    @Test
+    void testSignaturesWithinSevenBitsShareABand() {
+        long signature = 0x0123456789abcdefL;
+        long nearby = signature ^ (1L << 3) ^ (1L << 12) ^ (1L << 20) ^ (1L << 30) ^ (1L << 40) ^ (1L << 50) ^ (1L << 60);
+
+        assertThat(SimHash.distance(signature, nearby)).isEqualTo(7);
+        boolean sharesBand = false;
+        for (int band = 0; band < SimHash.BANDS; band++) {
+            sharesBand |= SimHash.band(signature, band) == SimHash.band(nearby, band);
+        }
+        assertThat(sharesBand).isTrue();
+    }
+}
@@ -0,0 +1,54 @@
+package com.complaints.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CsvChannelWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRowsAreQuotedOnlyWhenNeeded() throws Exception {
+        Path file = directory.resolve("complaints.csv");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            CsvChannelWriter writer = new CsvChannelWriter(channel, 16);
+            writer.writeRow(1L, LocalDate.of(2024, 12, 1), "Plain text", "OPEN", null);
+            writer.writeRow(2L, LocalDate.of(2024, 12, 2), "Broken, \"again\"\nsecond line", "CANCELED", 1L);
+            long position = writer.flush();
+
+            assertThat(position).isEqualTo(Files.size(file));
+        }
+
+        assertThat(Files.readString(file, StandardCharsets.UTF_8)).isEqualTo(
+                "1,2024-12-01,Plain text,OPEN,\r\n" +
+                "2,2024-12-02,\"Broken, \"\"again\"\"\nsecond line\",CANCELED,1\r\n");
+    }
+
+    @Test
+    void testCheckpointRoundTrip() {
+        Path file = directory.resolve("export.checkpoint");
+        ExportCheckpoint inProgress = new ExportCheckpoint(Instant.parse("2025-01-01T10:15:30.123456Z"), 42L,
+                Instant.parse("2025-01-02T01:25:00Z"), 4096);
+
+        assertThat(ExportCheckpoint.read(file)).isEqualTo(ExportCheckpoint.INITIAL);
+
+        inProgress.write(file);
+        assertThat(ExportCheckpoint.read(file)).isEqualTo(inProgress);
+
+        ExportCheckpoint completed = new ExportCheckpoint(inProgress.cutoff(), 0, null, 0);
+        completed.write(file);
+        assertThat(ExportCheckpoint.read(file)).isEqualTo(completed);
+        assertThat(ExportCheckpoint.read(file).inProgress()).isFalse();
+    }
+}
@@ -0,0 +1,94 @@
+package com.complaints.imports;
+
+import com.complaints.PostgresTestDatabase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@ActiveProfiles("test")
+@Import(ComplaintImporter.class)
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+public class ComplaintImporterTest {
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private ComplaintImporter importer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testValidRowsAreCopiedAndRejectedRowsWrittenToErrorFile() throws Exception {
+        jdbcTemplate.update("INSERT INTO customers (name, email, password) VALUES ('Import Customer', 'import@example.com', '{noop}password')");
+        Path csv = directory.resolve("legacy.csv");
+        Path errors = directory.resolve("legacy.csv.errors.csv");
+        Files.writeString(csv, """
+                customer_email,product_id,date,description,status
+                import@example.com,101,2024-12-01,"Broken, again\tand again",OPEN
+                IMPORT@example.com,102,2024-12-02,Late delivery,accepted
+                unknown@example.com,103,2024-12-03,Unknown customer,OPEN
+                import@example.com,-1,2024-12-04,Negative product,OPEN
+                import@example.com,104,2999-01-01,From the future,OPEN
+                """);
+
+        ImportResult result = importer.importFile(csv, errors);
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(3);
+        List<String> descriptions = jdbcTemplate.queryForList(
+                "SELECT c.description FROM complaints c JOIN customers u ON u.id = c.customer_id " +
+                        "WHERE u.email = 'import@example.com' AND c.description_simhash IS NOT NULL ORDER BY c.date", String.class);
+        assertThat(descriptions).containsExactly("Broken, again\tand again", "Late delivery");
+
+        List<String> errorLines = Files.readAllLines(errors);
+        assertThat(errorLines).hasSize(4);
+        assertThat(errorLines.get(1)).startsWith("4,\"Unknown customer email\"");
+        assertThat(errorLines.get(2)).startsWith("5,\"Product ID must be a positive number\"");
+        assertThat(errorLines.get(3)).startsWith("6,\"Date cannot be in the future\"");
+    }
+
+    @Test
+    void testOutlierDateOnlyCreatesItsOwnPartition() throws Exception {
+        jdbcTemplate.update("INSERT INTO customers (name, email, password) VALUES ('Outlier Customer', 'outlier@example.com', '{noop}password')");
+        Path csv = directory.resolve("outlier.csv");
+        Files.writeString(csv, """
+                customer_email,product_id,date,description,status
+                outlier@example.com,101,2024-11-05,Recent,OPEN
+                outlier@example.com,102,1900-01-15,Very old,OPEN
+                """);
+        Integer partitionsBefore = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_inherits WHERE inhparent = 'complaints'::regclass", Integer.class);
+
+        ImportResult result = importer.importFile(csv, directory.resolve("outlier.csv.errors.csv"));
+
+        assertThat(result.imported()).isEqualTo(2);
+        Integer partitionsAfter = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_inherits WHERE inhparent = 'complaints'::regclass", Integer.class);
+        assertThat(partitionsAfter - partitionsBefore).isBetween(1, 2);
+        String partition = jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM complaints WHERE description = 'Very old'", String.class);
+        assertThat(partition).isNotEqualTo("complaints_default");
+    }
+}
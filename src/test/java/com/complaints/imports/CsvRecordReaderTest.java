@@ -0,0 +1,45 @@
+package com.complaints.imports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CsvRecordReaderTest {
+
+    @Test
+    void testQuotedFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(
+                "a,b,c\r\n1,\"x, \"\"y\"\"\nz\",\n\"q\",,last"));
+
+        assertThat(reader.next()).containsExactly("a", "b", "c");
+        assertThat(reader.recordLine()).isEqualTo(1);
+        assertThat(reader.next()).containsExactly("1", "x, \"y\"\nz", "");
+        assertThat(reader.recordLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("q", "", "last");
+        assertThat(reader.recordLine()).isEqualTo(4);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void testBlankLinesAreSkipped() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b\n\r\n\n1,2\n\n"));
+
+        assertThat(reader.next()).containsExactly("a", "b");
+        assertThat(reader.next()).containsExactly("1", "2");
+        assertThat(reader.recordLine()).isEqualTo(4);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void testUnterminatedQuote() {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,\"never closed\n"));
+
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("line 1");
+    }
+}
@@ -0,0 +1,192 @@
+package com.complaints.job;
+
+import com.complaints.PostgresTestDatabase;
+import com.complaints.export.ExportCheckpoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test transactions are off: the job takes its cutoff from now() and must see rows committed before it runs.
+ */
+@JdbcTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ComplaintExportJobTest {
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM complaints");
+    }
+
+    @Test
+    void testSecondRunExportsOnlyChangedRows() throws Exception {
+        long first = insert("First", "2 hours");
+        insert("Second", "2 hours");
+        insert("Third", "2 hours");
+
+        assertThat(job(Duration.ofHours(1), 2).export()).isEqualTo(3);
+        jdbcTemplate.update("UPDATE complaints SET description = 'First, changed' WHERE id = ?", first);
+        assertThat(job(Duration.ZERO, 2).export()).isEqualTo(1);
+
+        List<List<String>> files = exportedFiles();
+        assertThat(files).hasSize(2);
+        assertThat(files.get(0)).hasSize(4);
+        assertThat(files.get(1)).hasSize(2);
+        assertThat(files.get(1).get(1)).startsWith(first + ",").contains("\"First, changed\"");
+        assertThat(ExportCheckpoint.read(directory.resolve(ComplaintExportJob.CHECKPOINT_FILE)).inProgress()).isFalse();
+    }
+
+    @Test
+    void testRowsWithinSettlePeriodAreLeftForNextRun() throws Exception {
+        insert("Settled", "2 hours");
+        insert("Recent", "10 minutes");
+
+        assertThat(job(Duration.ofHours(1), 100).export()).isEqualTo(1);
+        assertThat(job(Duration.ofMinutes(5), 100).export()).isEqualTo(1);
+
+        List<List<String>> files = exportedFiles();
+        assertThat(files.get(0)).hasSize(2);
+        assertThat(files.get(0).get(1)).contains("Settled");
+        assertThat(files.get(1)).hasSize(2);
+        assertThat(files.get(1).get(1)).contains("Recent");
+    }
+
+    @Test
+    void testFailedRunResumesFromCheckpointWithoutDuplicates() throws Exception {
+        insert("Row 1", "5 hours");
+        // Rows 2 to 4 share updated_at, so resuming after row 2 depends on the id half of the high-water mark
+        jdbcTemplate.update("INSERT INTO complaints (product_id, customer_id, date, description, status, updated_at) " +
+                "SELECT 100, 1, CURRENT_DATE, 'Row ' || n, 'OPEN', now() - INTERVAL '4 hours' FROM generate_series(2, 4) AS n");
+        insert("Row 5", "3 hours");
+
+        // Checkpoints after row 2 and fails on row 4, with row 3 still in the write buffer
+        ComplaintExportJob failing = new ComplaintExportJob(new FailingJdbcTemplate(jdbcTemplate, 4),
+                new TransactionTemplate(transactionManager), directory, Duration.ZERO, 1, 2);
+        assertThatThrownBy(failing::export).hasMessage("simulated crash");
+
+        Path checkpointFile = directory.resolve(ComplaintExportJob.CHECKPOINT_FILE);
+        ExportCheckpoint checkpoint = ExportCheckpoint.read(checkpointFile);
+        assertThat(checkpoint.inProgress()).isTrue();
+        Path partFile;
+        try (Stream<Path> files = Files.list(directory)) {
+            partFile = files.filter(file -> file.toString().endsWith(".csv.part")).findFirst().orElseThrow();
+        }
+        assertThat(Files.size(partFile)).isEqualTo(checkpoint.position()).isPositive();
+        // A crash after a partial buffer flush leaves bytes past the checkpoint
+        Files.writeString(partFile, "999,torn row", StandardOpenOption.APPEND);
+
+        assertThat(job(Duration.ZERO, 2).export()).isEqualTo(3);
+
+        List<List<String>> files = exportedFiles();
+        assertThat(files).hasSize(1);
+        assertThat(files.get(0)).hasSize(6).noneMatch(line -> line.contains("torn"));
+        assertThat(files.get(0).subList(1, 6)).extracting(line -> line.split(",")[4])
+                .containsExactly("Row 1", "Row 2", "Row 3", "Row 4", "Row 5");
+        assertThat(ExportCheckpoint.read(checkpointFile)).isEqualTo(new ExportCheckpoint(checkpoint.cutoff(), 0, null, 0));
+    }
+
+    @Test
+    void testCrashBetweenRenameAndCheckpointDoesNotRewriteFile() throws Exception {
+        insert("Exported once", "2 hours");
+        assertThat(job(Duration.ZERO, 100).export()).isEqualTo(1);
+        Path checkpointFile = directory.resolve(ComplaintExportJob.CHECKPOINT_FILE);
+        ExportCheckpoint completed = ExportCheckpoint.read(checkpointFile);
+        List<List<String>> exported = exportedFiles();
+
+        // The part file was renamed, but the in-progress checkpoint was never replaced
+        new ExportCheckpoint(completed.updatedAt().minusSeconds(1), 0, completed.updatedAt(), 0).write(checkpointFile);
+
+        assertThat(job(Duration.ZERO, 100).export()).isZero();
+        assertThat(exportedFiles()).isEqualTo(exported);
+        assertThat(ExportCheckpoint.read(checkpointFile)).isEqualTo(completed);
+    }
+
+    private ComplaintExportJob job(Duration settle, int checkpointRows) {
+        return new ComplaintExportJob(jdbcTemplate, new TransactionTemplate(transactionManager), directory, settle, 1, checkpointRows);
+    }
+
+    private long insert(String description, String age) {
+        return jdbcTemplate.queryForObject("INSERT INTO complaints (product_id, customer_id, date, description, status, updated_at) " +
+                "VALUES (100, 1, CURRENT_DATE, ?, 'OPEN', now() - CAST(? AS INTERVAL)) RETURNING id", Long.class, description, age);
+    }
+
+    private List<List<String>> exportedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".csv"))
+                    .sorted()
+                    .map(ComplaintExportJobTest::readLines)
+                    .toList();
+        }
+    }
+
+    private static List<String> readLines(Path file) {
+        try {
+            return Files.readAllLines(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Fails the streamed query at the given row, as a crash of the process would.
+     */
+    private static class FailingJdbcTemplate extends JdbcTemplate {
+
+        private final int failAtRow;
+
+        FailingJdbcTemplate(JdbcTemplate jdbcTemplate, int failAtRow) {
+            super(jdbcTemplate.getDataSource());
+            this.failAtRow = failAtRow;
+        }
+
+        @Override
+        public void query(PreparedStatementCreator creator, RowCallbackHandler handler) {
+            int[] rows = {0};
+            super.query(creator, (RowCallbackHandler) row -> {
+                if (++rows[0] == failAtRow) {
+                    throw new IllegalStateException("simulated crash");
+                }
+                handler.processRow(row);
+            });
+        }
+    }
+}
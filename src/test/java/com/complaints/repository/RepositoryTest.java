@@ -1,43 +1,41 @@
 package com.complaints.repository;
 
+import com.complaints.PostgresTestDatabase;
+import com.complaints.duplicates.SimHash;
 import com.complaints.entity.Complaint;
 import com.complaints.entity.Customer;
+import com.complaints.entity.ListedComplaint;
 import com.complaints.entity.enums.Status;
+import com.complaints.job.SimHashBackfillJob;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
-import org.testcontainers.containers.PostgreSQLContainer;
-import org.testcontainers.junit.jupiter.Container;
-import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 @DataJpaTest
-@Testcontainers
+@ActiveProfiles("test")
 public class RepositoryTest {
 
-    @Container
-    @ServiceConnection
-    static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:16.3")
-            .withDatabaseName("complaints-test")
-            .withUsername("test")
-            .withPassword("test");
-
     @DynamicPropertySource
     static void configureProperties(DynamicPropertyRegistry registry) {
-        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
-        registry.add("spring.datasource.username", postgresContainer::getUsername);
-        registry.add("spring.datasource.password", postgresContainer::getPassword);
-        registry.add("spring.datasource.driver-class-name", postgresContainer::getDriverClassName);
+        PostgresTestDatabase.register(registry);
     }
 
     @PersistenceContext
@@ -46,6 +44,7 @@ public class RepositoryTest {
     @BeforeEach
     void clearDatabase() {
         entityManager.createQuery("DELETE FROM Complaint").executeUpdate();
+        entityManager.createNativeQuery("DELETE FROM complaints_archive").executeUpdate();
         entityManager.createQuery("DELETE FROM Customer").executeUpdate();
     }
 
@@ -55,6 +54,12 @@ public class RepositoryTest {
     @Autowired
     private ComplaintRepository complaintRepository;
 
+    @Autowired
+    private ListedComplaintRepository listedComplaintRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void testSaveAndRetrieveComplaint() {
         Customer customer = new Customer();
@@ -111,4 +116,315 @@ public class RepositoryTest {
         assertThat(complaints.get(1).getDescription()).isEqualTo("Second Complaint");
     }
 
+    @Test
+    void testOwnershipScopedQueries() {
+        Customer owner = new Customer();
+        owner.setEmail("owner@example.com");
+        owner.setPassword("123456");
+        owner.setName("Owner");
+        owner = customerRepository.save(owner);
+
+        Customer stranger = new Customer();
+        stranger.setEmail("stranger@example.com");
+        stranger.setPassword("123456");
+        stranger.setName("Stranger");
+        stranger = customerRepository.save(stranger);
+
+        Complaint complaint = new Complaint();
+        complaint.setProductId(103L);
+        complaint.setCustomer(owner);
+        complaint.setDate(LocalDate.now());
+        complaint.setDescription("Owned complaint");
+        complaint.setStatus(Status.OPEN);
+        Long id = complaintRepository.save(complaint).getId();
+
+        assertThat(complaintRepository.findStatusByIdAndCustomerId(id, owner.getId())).contains(Status.OPEN);
+        assertThat(complaintRepository.findStatusByIdAndCustomerId(id, stranger.getId())).isEmpty();
+
+        assertThat(complaintRepository.updateStatusByIdAndCustomerId(id, stranger.getId(), Status.CANCELED)).isZero();
+        assertThat(complaintRepository.updateStatusByIdAndCustomerId(id, owner.getId(), Status.CANCELED)).isEqualTo(1);
+
+        entityManager.clear();
+        assertThat(complaintRepository.findById(id)).get().extracting(Complaint::getStatus).isEqualTo(Status.CANCELED);
+    }
+
+    @Test
+    void testFindAllFields() {
+        Customer customer = new Customer();
+        customer.setEmail("fields@example.com");
+        customer.setPassword("123456");
+        customer.setName("Fields Customer");
+        customer = customerRepository.save(customer);
+
+        Complaint complaint = new Complaint();
+        complaint.setProductId(104L);
+        complaint.setCustomer(customer);
+        complaint.setDate(LocalDate.now());
+        complaint.setDescription("Projected complaint");
+        complaint.setStatus(Status.OPEN);
+        Long id = complaintRepository.save(complaint).getId();
+
+        List<Map<String, Object>> rows = complaintRepository.findAllFields(new LinkedHashSet<>(List.of("id", "status", "customer")), null, null, PageRequest.of(0, 10, Sort.by("id")));
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)).containsExactly(
+                entry("id", id),
+                entry("status", Status.OPEN),
+                entry("customer", Map.of("email", "fields@example.com", "name", "Fields Customer")));
+    }
+
+    @Test
+    void testKeysetPagingByCustomer() {
+        Customer customer = new Customer();
+        customer.setEmail("keyset@example.com");
+        customer.setPassword("123456");
+        customer.setName("Keyset Customer");
+        customer = customerRepository.save(customer);
+
+        for (int day = 1; day <= 3; day++) {
+            Complaint complaint = new Complaint();
+            complaint.setProductId(200L + day);
+            complaint.setCustomer(customer);
+            complaint.setDate(LocalDate.of(2024, 12, day));
+            complaint.setDescription("Complaint " + day);
+            complaint.setStatus(Status.OPEN);
+            complaintRepository.save(complaint);
+        }
+        entityManager.createNativeQuery("INSERT INTO complaints_archive (id, product_id, customer_id, date, description, status) " +
+                        "VALUES (999998, 200, :customerId, DATE '2024-12-02', 'Archived complaint', 'ACCEPTED')")
+                .setParameter("customerId", customer.getId())
+                .executeUpdate();
+        entityManager.flush();
+
+        List<ListedComplaint> first = listedComplaintRepository.findLatestByCustomerId(customer.getId(), 2);
+        assertThat(first).extracting(ListedComplaint::getDescription).containsExactly("Complaint 3", "Archived complaint");
+
+        ListedComplaint last = first.get(1);
+        List<ListedComplaint> second = listedComplaintRepository.findLatestByCustomerIdBefore(customer.getId(), last.getDate(), last.getId(), 2);
+        assertThat(second).extracting(ListedComplaint::getDescription).containsExactly("Complaint 2", "Complaint 1");
+    }
+
+    @Test
+    void testFindAllWithCustomerByIdIn() {
+        Customer customer = new Customer();
+        customer.setEmail("batch@example.com");
+        customer.setPassword("123456");
+        customer.setName("Batch Customer");
+        customer = customerRepository.save(customer);
+
+        Complaint complaint = new Complaint();
+        complaint.setProductId(300L);
+        complaint.setCustomer(customer);
+        complaint.setDate(LocalDate.now());
+        complaint.setDescription("Batched complaint");
+        complaint.setStatus(Status.OPEN);
+        Long id = complaintRepository.save(complaint).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Complaint> complaints = complaintRepository.findAllWithCustomerByIdIn(List.of(id, -1L));
+
+        assertThat(complaints).hasSize(1);
+        assertThat(entityManager.getEntityManagerFactory().getPersistenceUnitUtil().isLoaded(complaints.get(0).getCustomer())).isTrue();
+        assertThat(complaints.get(0).getCustomer().getEmail()).isEqualTo("batch@example.com");
+    }
+
+    @Test
+    void testFindDuplicateCandidates() {
+        Customer customer = new Customer();
+        customer.setEmail("duplicates@example.com");
+        customer.setPassword("123456");
+        customer.setName("Duplicates Customer");
+        customer = customerRepository.save(customer);
+
+        long signature = 0x0123456789abcdefL;
+        Complaint sameBand = duplicateCandidate(customer, 400L, signature ^ 0xFF00FF00FF00FF00L, Status.OPEN);
+        duplicateCandidate(customer, 400L, ~signature, Status.OPEN);
+        duplicateCandidate(customer, 400L, signature, Status.ACCEPTED);
+        duplicateCandidate(customer, 401L, signature, Status.OPEN);
+        duplicateCandidate(customer, 400L, signature, Status.OPEN, LocalDate.now().minusYears(1));
+        entityManager.flush();
+
+        List<Complaint> candidates = complaintRepository.findDuplicateCandidates(customer.getId(), 400L, signature,
+                LocalDate.now().minusDays(90), 20);
+
+        assertThat(candidates).extracting(Complaint::getId).containsExactly(sameBand.getId());
+    }
+
+    @Test
+    void testBackfilledSimHashIsFoundAsDuplicateCandidate() {
+        Customer customer = new Customer();
+        customer.setEmail("backfill@example.com");
+        customer.setPassword("123456");
+        customer.setName("Backfill Customer");
+        customer = customerRepository.save(customer);
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.update("INSERT INTO complaints (product_id, customer_id, date, description, status, updated_at) " +
+                            "VALUES (500, ?, ?, ?, 'OPEN', TIMESTAMPTZ '2024-01-01 00:00:00+00')",
+                    customer.getId(), LocalDate.now(), "Stored before duplicate detection " + i);
+        }
+
+        new SimHashBackfillJob(jdbcTemplate, 2).backfill();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM complaints WHERE description_simhash IS NULL " +
+                "OR description_bands IS NULL", Long.class)).isZero();
+        // Not a change the export has to pick up
+        assertThat(jdbcTemplate.queryForList("SELECT DISTINCT updated_at FROM complaints WHERE customer_id = ?",
+                OffsetDateTime.class, customer.getId())).containsExactly(OffsetDateTime.parse("2024-01-01T00:00:00Z"));
+        long signature = SimHash.of("Stored before duplicate detection 0");
+        assertThat(complaintRepository.findDuplicateCandidates(customer.getId(), 500L, signature, LocalDate.now().minusDays(90), 20))
+                .extracting(Complaint::getDescription).contains("Stored before duplicate detection 0");
+    }
+
+    private Complaint duplicateCandidate(Customer customer, Long productId, long simhash, Status status) {
+        return duplicateCandidate(customer, productId, simhash, status, LocalDate.now());
+    }
+
+    private Complaint duplicateCandidate(Customer customer, Long productId, long simhash, Status status, LocalDate date) {
+        Complaint complaint = new Complaint();
+        complaint.setProductId(productId);
+        complaint.setCustomer(customer);
+        complaint.setDate(date);
+        complaint.setDescription("Possible duplicate");
+        complaint.setSimhash(simhash);
+        complaint.setStatus(status);
+        return complaintRepository.save(complaint);
+    }
+
+    @Test
+    void testCustomerProjections() {
+        Customer customer = new Customer();
+        customer.setEmail("summary@example.com");
+        customer.setPassword("{noop}secret");
+        customer.setName("Summary Customer");
+        customer = customerRepository.save(customer);
+
+        assertThat(customerRepository.findSummaryById(customer.getId()))
+                .contains(new CustomerSummary(customer.getId(), "summary@example.com", "Summary Customer"));
+        assertThat(customerRepository.findCredentialsByEmail("summary@example.com"))
+                .contains(new CustomerCredentials(customer.getId(), "summary@example.com", "{noop}secret"));
+        assertThat(customerRepository.findCredentialsByEmail("missing@example.com")).isEmpty();
+    }
+
+    @Test
+    void testEntitiesAreEqualById() {
+        Customer customer = new Customer();
+        customer.setEmail("equality@example.com");
+        customer.setPassword("123456");
+        customer.setName("Equality Customer");
+        customer = customerRepository.save(customer);
+        entityManager.flush();
+        entityManager.clear();
+
+        Customer reference = customerRepository.getReferenceById(customer.getId());
+
+        assertThat(reference).isEqualTo(customer);
+        assertThat(reference.hashCode()).isEqualTo(customer.hashCode());
+        assertThat(new Customer()).isNotEqualTo(new Customer());
+        assertThat(customer.toString()).doesNotContain("123456");
+    }
+
+    @Test
+    void testListingMergesLiveAndArchivedComplaints() {
+        Customer customer = new Customer();
+        customer.setEmail("listing@example.com");
+        customer.setPassword("123456");
+        customer.setName("Listing Customer");
+        customer = customerRepository.save(customer);
+
+        for (int day : new int[]{10, 20}) {
+            Complaint complaint = new Complaint();
+            complaint.setProductId(100L);
+            complaint.setCustomer(customer);
+            complaint.setDate(LocalDate.of(2024, 12, day));
+            complaint.setDescription("Live complaint " + day);
+            complaint.setStatus(Status.OPEN);
+            complaintRepository.save(complaint);
+        }
+        entityManager.createNativeQuery("INSERT INTO complaints_archive (id, product_id, customer_id, date, description, status) " +
+                        "VALUES (999999, 100, :customerId, DATE '2024-12-15', 'Archived complaint', 'ACCEPTED')")
+                .setParameter("customerId", customer.getId())
+                .executeUpdate();
+        entityManager.flush();
+
+        LocalDate from = LocalDate.of(2024, 12, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        List<ListedComplaint> first = listedComplaintRepository.findByDateBetween(from, to, PageRequest.of(0, 2, Sort.by("date", "id")));
+        List<ListedComplaint> second = listedComplaintRepository.findByDateBetween(from, to, PageRequest.of(1, 2, Sort.by("date", "id")));
+
+        assertThat(first).extracting(ListedComplaint::getDescription).containsExactly("Live complaint 10", "Archived complaint");
+        assertThat(second).extracting(ListedComplaint::getDescription).containsExactly("Live complaint 20");
+        assertThat(listedComplaintRepository.findAll()).hasSize(3);
+    }
+
+    @Test
+    void testIdLookupsResolveDateThroughComplaintDates() {
+        Customer customer = new Customer();
+        customer.setEmail("dates@example.com");
+        customer.setPassword("123456");
+        customer.setName("Dates Customer");
+        customer = customerRepository.save(customer);
+
+        Complaint complaint = new Complaint();
+        complaint.setProductId(100L);
+        complaint.setCustomer(customer);
+        complaint.setDate(LocalDate.of(2024, 12, 5));
+        complaint.setDescription("Dated complaint");
+        complaint.setStatus(Status.OPEN);
+        Long id = complaintRepository.save(complaint).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(complaintRepository.findById(id)).map(Complaint::getDescription).contains("Dated complaint");
+        assertThat(complaintRepository.existsById(id)).isTrue();
+        assertThat(complaintRepository.findStatusByIdAndCustomerId(id, customer.getId())).contains(Status.OPEN);
+        assertThat(complaintDate(id)).isEqualTo(LocalDate.of(2024, 12, 5));
+
+        entityManager.createQuery("DELETE FROM Complaint c WHERE c.id = :id").setParameter("id", id).executeUpdate();
+
+        assertThat(complaintRepository.existsById(id)).isFalse();
+        assertThat(entityManager.createNativeQuery("SELECT count(*) FROM complaint_dates WHERE id = :id")
+                .setParameter("id", id).getSingleResult()).isEqualTo(0L);
+    }
+
+    @Test
+    void testCreatingPartitionMovesRowsOutOfDefaultPartition() {
+        Customer customer = new Customer();
+        customer.setEmail("partition@example.com");
+        customer.setPassword("123456");
+        customer.setName("Partition Customer");
+        customer = customerRepository.save(customer);
+
+        Complaint complaint = new Complaint();
+        complaint.setProductId(100L);
+        complaint.setCustomer(customer);
+        complaint.setDate(LocalDate.of(2099, 3, 10));
+        complaint.setDescription("Far future complaint");
+        complaint.setStatus(Status.OPEN);
+        Long id = complaintRepository.save(complaint).getId();
+        entityManager.flush();
+        assertThat(partitionOf(id)).isEqualTo("complaints_default");
+
+        entityManager.createNativeQuery("SELECT create_complaints_partitions(DATE '2099-03-01', DATE '2099-03-31')")
+                .getSingleResult();
+        entityManager.clear();
+
+        assertThat(partitionOf(id)).isEqualTo("complaints_y2099m03");
+        assertThat(complaintDate(id)).isEqualTo(LocalDate.of(2099, 3, 10));
+        assertThat(complaintRepository.findById(id)).map(Complaint::getDescription).contains("Far future complaint");
+    }
+
+    private String partitionOf(Long id) {
+        return (String) entityManager.createNativeQuery("SELECT tableoid::regclass::text FROM complaints WHERE id = :id")
+                .setParameter("id", id)
+                .getSingleResult();
+    }
+
+    private LocalDate complaintDate(Long id) {
+        Object date = entityManager.createNativeQuery("SELECT date FROM complaint_dates WHERE id = :id")
+                .setParameter("id", id)
+                .getSingleResult();
+        return date instanceof java.sql.Date sqlDate ? sqlDate.toLocalDate() : (LocalDate) date;
+    }
+
 }
@@ -0,0 +1,64 @@
+package com.complaints.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisabledInNativeImage
+public class CachingPasswordEncoderTest {
+
+    private PasswordEncoder delegate;
+    private CachingPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(PasswordEncoder.class);
+        passwordEncoder = new CachingPasswordEncoder(delegate, Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    void testMatches_CachesSuccessfulVerification() {
+        when(delegate.matches("password123", "{bcrypt}hash")).thenReturn(true);
+
+        assertThat(passwordEncoder.matches("password123", "{bcrypt}hash")).isTrue();
+        assertThat(passwordEncoder.matches("password123", "{bcrypt}hash")).isTrue();
+
+        verify(delegate, times(1)).matches("password123", "{bcrypt}hash");
+    }
+
+    @Test
+    void testMatches_DoesNotCacheFailedVerification() {
+        when(delegate.matches("wrong", "{bcrypt}hash")).thenReturn(false);
+
+        assertThat(passwordEncoder.matches("wrong", "{bcrypt}hash")).isFalse();
+        assertThat(passwordEncoder.matches("wrong", "{bcrypt}hash")).isFalse();
+
+        verify(delegate, times(2)).matches("wrong", "{bcrypt}hash");
+    }
+
+    @Test
+    void testMatches_ChangedHashIsVerifiedAgain() {
+        when(delegate.matches(eq("password123"), anyString())).thenReturn(true);
+
+        passwordEncoder.matches("password123", "{noop}password123");
+        passwordEncoder.matches("password123", "{bcrypt}hash");
+
+        verify(delegate, times(1)).matches("password123", "{noop}password123");
+        verify(delegate, times(1)).matches("password123", "{bcrypt}hash");
+    }
+
+    @Test
+    void testEncodeAndUpgradeDelegate() {
+        when(delegate.encode("password123")).thenReturn("{bcrypt}hash");
+        when(delegate.upgradeEncoding("{noop}password123")).thenReturn(true);
+
+        assertThat(passwordEncoder.encode("password123")).isEqualTo("{bcrypt}hash");
+        assertThat(passwordEncoder.upgradeEncoding("{noop}password123")).isTrue();
+    }
+}
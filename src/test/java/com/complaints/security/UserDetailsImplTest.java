@@ -1,6 +1,5 @@
 package com.complaints.security;
 
-import com.complaints.entity.Customer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.security.core.GrantedAuthority;
@@ -11,15 +10,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 public class UserDetailsImplTest {
 
-    private Customer customer;
     private UserDetailsImpl userDetails;
 
     @BeforeEach
     void setUp() {
-        customer = new Customer();
-        customer.setEmail("test@example.com");
-        customer.setPassword("password123");
-        userDetails = new UserDetailsImpl(customer);
+        userDetails = new UserDetailsImpl(1L, "test@example.com", "password123");
     }
 
     @Test
@@ -42,7 +37,7 @@ public class UserDetailsImplTest {
     }
 
     @Test
-    void testCustomerField() {
-        assertThat(userDetails.customer()).isEqualTo(customer);
+    void testCustomerIdField() {
+        assertThat(userDetails.customerId()).isEqualTo(1L);
     }
 }
@@ -0,0 +1,86 @@
+package com.complaints.service;
+
+import com.complaints.cache.ComplaintCache;
+import com.complaints.cache.InMemorySharedCacheStore;
+import com.complaints.dto.response.ComplaintBatchResponse;
+import com.complaints.dto.response.ComplaintResponse;
+import com.complaints.event.ComplaintChangedEvent;
+import com.complaints.service.impl.CachingComplaintService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisabledInNativeImage
+public class CachingComplaintServiceTest {
+
+    @Mock
+    private ComplaintService delegate;
+
+    private ComplaintCache cache;
+    private CachingComplaintService complaintService;
+
+    private ComplaintResponse complaint1;
+    private ComplaintResponse complaint2;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = new ComplaintCache(new InMemorySharedCacheStore(), new SimpleMeterRegistry(), Duration.ofMinutes(1), 100, Duration.ofMinutes(5), Duration.ofSeconds(5), Duration.ofSeconds(5));
+        complaintService = new CachingComplaintService(delegate, cache);
+
+        complaint1 = new ComplaintResponse();
+        complaint1.setId(1L);
+        complaint2 = new ComplaintResponse();
+        complaint2.setId(2L);
+    }
+
+    @Test
+    void testFindByIdIsCachedUntilChanged() {
+        when(delegate.findById(1L)).thenReturn(complaint1);
+
+        complaintService.findById(1L);
+        complaintService.findById(1L);
+        verify(delegate, times(1)).findById(1L);
+
+        cache.onComplaintChanged(new ComplaintChangedEvent(1L));
+        complaintService.findById(1L);
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void testUnpagedListingIsNotCached() {
+        when(delegate.findAll()).thenReturn(List.of(complaint1, complaint2));
+
+        complaintService.findAll();
+        complaintService.findAll();
+
+        verify(delegate, times(2)).findAll();
+    }
+
+    @Test
+    void testFindAllByIdLoadsOnlyUncachedIds() {
+        when(delegate.findById(2L)).thenReturn(complaint2);
+        complaintService.findById(2L);
+        when(delegate.findAllById(List.of(3L, 1L))).thenReturn(new ComplaintBatchResponse(List.of(complaint1), List.of(3L)));
+
+        ComplaintBatchResponse result = complaintService.findAllById(List.of(3L, 2L, 1L));
+
+        assertThat(result.complaints()).containsExactly(complaint2, complaint1);
+        assertThat(result.missingIds()).containsExactly(3L);
+        verify(delegate).findAllById(List.of(3L, 1L));
+
+        complaintService.findAllById(List.of(1L, 2L));
+        verify(delegate).findById(2L);
+        verifyNoMoreInteractions(delegate);
+    }
+
+}
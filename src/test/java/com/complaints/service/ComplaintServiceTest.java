@@ -1,45 +1,81 @@
 package com.complaints.service;
 
+import com.complaints.dto.ComplaintCursor;
 import com.complaints.dto.request.ComplaintCreateRequest;
 import com.complaints.dto.request.ComplaintUpdateRequest;
+import com.complaints.dto.response.ComplaintBatchResponse;
+import com.complaints.dto.response.ComplaintPageResponse;
 import com.complaints.dto.response.ComplaintResponse;
+import com.complaints.dto.response.CustomerResponse;
+import com.complaints.duplicates.DuplicateDetector;
+import com.complaints.duplicates.SimHash;
+import com.complaints.entity.ArchivedComplaint;
 import com.complaints.entity.Complaint;
 import com.complaints.entity.Customer;
+import com.complaints.entity.ListedComplaint;
 import com.complaints.entity.enums.Status;
+import com.complaints.event.ComplaintChangedEvent;
+import com.complaints.event.ComplaintCreatedEvent;
 import com.complaints.exception.EntityNotFoundException;
+import com.complaints.exception.InvalidRequestException;
 import com.complaints.exception.UnableToModifyException;
+import com.complaints.repository.ArchivedComplaintRepository;
 import com.complaints.repository.ComplaintRepository;
+import com.complaints.repository.CustomerRepository;
+import com.complaints.repository.CustomerSummary;
+import com.complaints.repository.ListedComplaintRepository;
 import com.complaints.security.UserDetailsImpl;
 import com.complaints.service.impl.ComplaintServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
+@DisabledInNativeImage
 public class ComplaintServiceTest {
 
     @Mock
     private ComplaintRepository complaintRepository;
 
+    @Mock
+    private ArchivedComplaintRepository archivedComplaintRepository;
+
+    @Mock
+    private ListedComplaintRepository listedComplaintRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private DuplicateDetector duplicateDetector;
+
     @Mock
     private Authentication authentication;
 
@@ -51,18 +87,18 @@ public class ComplaintServiceTest {
 
     private Customer customer;
     private Complaint complaint;
+    private ListedComplaint listedComplaint;
     private ComplaintResponse complaintResponse;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
-        UserDetailsImpl userDetails = mock(UserDetailsImpl.class);
+        UserDetailsImpl userDetails = new UserDetailsImpl(1L, "test@example.com", "password123");
         customer = new Customer();
         customer.setId(1L);
         customer.setEmail("test@example.com");
 
-        when(userDetails.customer()).thenReturn(customer);
         when(authentication.getPrincipal()).thenReturn(userDetails);
         when(securityContext.getAuthentication()).thenReturn(authentication);
         SecurityContextHolder.setContext(securityContext);
@@ -75,6 +111,11 @@ public class ComplaintServiceTest {
         complaint.setDate(LocalDate.now());
         complaint.setStatus(Status.OPEN);
 
+        listedComplaint = new ListedComplaint();
+        listedComplaint.setId(1L);
+        listedComplaint.setCustomer(customer);
+        listedComplaint.setDescription("Test complaint");
+
         complaintResponse = new ComplaintResponse();
         complaintResponse.setId(1L);
         complaintResponse.setDescription("Test complaint");
@@ -82,27 +123,62 @@ public class ComplaintServiceTest {
 
     @Test
     void testFindAll() {
-        when(complaintRepository.findAll()).thenReturn(List.of(complaint));
-        when(modelMapper.map(complaint, ComplaintResponse.class)).thenReturn(complaintResponse);
+        when(listedComplaintRepository.findAll()).thenReturn(List.of(listedComplaint));
+        when(modelMapper.map(listedComplaint, ComplaintResponse.class)).thenReturn(complaintResponse);
 
         List<ComplaintResponse> result = complaintService.findAll();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getDescription()).isEqualTo("Test complaint");
 
-        verify(complaintRepository, times(1)).findAll();
+        verify(listedComplaintRepository, times(1)).findAll();
     }
 
     @Test
     void testFindAllWithPagination() {
         PageRequest pageRequest = PageRequest.of(0, 10);
-        when(complaintRepository.findAll(pageRequest)).thenReturn(new PageImpl<>(List.of(complaint)));
-        when(modelMapper.map(complaint, ComplaintResponse.class)).thenReturn(complaintResponse);
+        when(listedComplaintRepository.findAll(pageRequest)).thenReturn(new PageImpl<>(List.of(listedComplaint)));
+        when(modelMapper.map(listedComplaint, ComplaintResponse.class)).thenReturn(complaintResponse);
 
         List<ComplaintResponse> result = complaintService.findAll(pageRequest);
 
         assertThat(result).hasSize(1);
-        verify(complaintRepository, times(1)).findAll(pageRequest);
+        verify(listedComplaintRepository, times(1)).findAll(pageRequest);
+    }
+
+    @Test
+    void testFindAllFields() {
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        Set<String> fields = Set.of("id", "status");
+        when(complaintRepository.findAllFields(fields, null, null, pageRequest)).thenReturn(List.of(Map.of("id", 1L, "status", Status.OPEN)));
+
+        List<Map<String, Object>> result = complaintService.findAllFields(fields, pageRequest);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0)).containsOnlyKeys("id", "status");
+        verifyNoInteractions(modelMapper);
+    }
+
+    @Test
+    void testFindAllFields_UnknownField() {
+        assertThatThrownBy(() -> complaintService.findAllFields(Set.of("id", "password")))
+                .isInstanceOf(InvalidRequestException.class);
+
+        verify(complaintRepository, never()).findAllFields(any(), any(), any(), any());
+    }
+
+    @Test
+    void testSearchByDateRange() {
+        LocalDate from = LocalDate.of(2024, 12, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        when(listedComplaintRepository.findByDateBetween(from, to, pageRequest)).thenReturn(List.of(listedComplaint));
+        when(modelMapper.map(listedComplaint, ComplaintResponse.class)).thenReturn(complaintResponse);
+
+        List<ComplaintResponse> result = complaintService.search(from, to, pageRequest);
+
+        assertThat(result).hasSize(1);
+        verify(listedComplaintRepository, times(1)).findByDateBetween(from, to, pageRequest);
     }
 
     @Test
@@ -116,6 +192,85 @@ public class ComplaintServiceTest {
         verify(complaintRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void testFindById_FallsThroughToArchive() {
+        ArchivedComplaint archivedComplaint = new ArchivedComplaint();
+        archivedComplaint.setId(1L);
+        archivedComplaint.setCustomer(customer);
+        archivedComplaint.setStatus(Status.ACCEPTED);
+
+        when(complaintRepository.findById(1L)).thenReturn(Optional.empty());
+        when(archivedComplaintRepository.findById(1L)).thenReturn(Optional.of(archivedComplaint));
+        when(modelMapper.map(archivedComplaint, ComplaintResponse.class)).thenReturn(complaintResponse);
+
+        ComplaintResponse result = complaintService.findById(1L);
+
+        assertThat(result.getId()).isEqualTo(1L);
+        verify(archivedComplaintRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void testFindByAuthenticatedCustomer() {
+        listedComplaint.setDate(LocalDate.of(2024, 12, 10));
+        ListedComplaint older = new ListedComplaint();
+        older.setId(2L);
+        older.setCustomer(customer);
+        older.setDate(LocalDate.of(2024, 12, 1));
+        when(listedComplaintRepository.findLatestByCustomerId(1L, 2)).thenReturn(List.of(listedComplaint, older));
+        when(customerRepository.findSummaryById(1L)).thenReturn(Optional.of(new CustomerSummary(1L, "test@example.com", "Test Customer")));
+        when(modelMapper.map(listedComplaint, ComplaintResponse.class)).thenReturn(complaintResponse);
+
+        ComplaintPageResponse page = complaintService.findByAuthenticatedCustomer(null, 1);
+
+        assertThat(page.complaints()).containsExactly(complaintResponse);
+        assertThat(page.nextCursor()).isEqualTo(new ComplaintCursor(listedComplaint.getDate(), 1L).encode());
+    }
+
+    @Test
+    void testFindByAuthenticatedCustomer_WithCursor() {
+        LocalDate date = LocalDate.of(2024, 12, 10);
+        when(listedComplaintRepository.findLatestByCustomerIdBefore(1L, date, 110L, 11)).thenReturn(List.of(listedComplaint));
+        when(customerRepository.findSummaryById(1L)).thenReturn(Optional.of(new CustomerSummary(1L, "test@example.com", "Test Customer")));
+        when(modelMapper.map(listedComplaint, ComplaintResponse.class)).thenReturn(complaintResponse);
+
+        ComplaintPageResponse page = complaintService.findByAuthenticatedCustomer(new ComplaintCursor(date, 110L).encode(), 10);
+
+        assertThat(page.complaints()).hasSize(1);
+        assertThat(page.complaints().get(0).getCustomer().getEmail()).isEqualTo("test@example.com");
+        assertThat(page.nextCursor()).isNull();
+        verify(modelMapper, never()).map(any(Customer.class), eq(CustomerResponse.class));
+    }
+
+    @Test
+    void testFindByAuthenticatedCustomer_InvalidCursor() {
+        assertThatThrownBy(() -> complaintService.findByAuthenticatedCustomer("not-a-cursor", 10))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void testFindAllById() {
+        ArchivedComplaint archivedComplaint = new ArchivedComplaint();
+        archivedComplaint.setId(2L);
+        archivedComplaint.setCustomer(customer);
+        ComplaintResponse archivedResponse = new ComplaintResponse();
+        archivedResponse.setId(2L);
+        when(complaintRepository.findAllWithCustomerByIdIn(Set.of(3L, 2L, 1L))).thenReturn(List.of(complaint));
+        when(archivedComplaintRepository.findAllWithCustomerByIdIn(List.of(3L, 2L))).thenReturn(List.of(archivedComplaint));
+        when(modelMapper.map(complaint, ComplaintResponse.class)).thenReturn(complaintResponse);
+        when(modelMapper.map(archivedComplaint, ComplaintResponse.class)).thenReturn(archivedResponse);
+
+        ComplaintBatchResponse result = complaintService.findAllById(List.of(3L, 2L, 1L, 2L));
+
+        assertThat(result.complaints()).containsExactly(archivedResponse, complaintResponse);
+        assertThat(result.missingIds()).containsExactly(3L);
+    }
+
+    @Test
+    void testFindAllById_Empty() {
+        assertThatThrownBy(() -> complaintService.findAllById(List.of()))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
     @Test
     void testFindById_NotFound() {
         when(complaintRepository.findById(1L)).thenReturn(Optional.empty());
@@ -140,38 +295,154 @@ public class ComplaintServiceTest {
 
         assertThat(result.getId()).isEqualTo(1L);
         verify(complaintRepository, times(1)).save(any(Complaint.class));
+        verify(eventPublisher).publishEvent(new ComplaintChangedEvent(1L));
+        verify(eventPublisher).publishEvent(new ComplaintCreatedEvent(1L, complaint.getProductId()));
+    }
+
+    @Test
+    void testSaveComplaint_FlagsDuplicate() {
+        ComplaintCreateRequest request = new ComplaintCreateRequest();
+        request.setProductId(100L);
+        request.setDescription("Test complaint again");
+        request.setDate(LocalDate.now());
+        request.setStatus(Status.OPEN);
+
+        when(duplicateDetector.findOriginal(1L, 100L, SimHash.of("Test complaint again"))).thenReturn(Optional.of(complaint));
+        when(complaintRepository.save(any(Complaint.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(modelMapper.map(any(Complaint.class), eq(ComplaintResponse.class))).thenReturn(complaintResponse);
+
+        complaintService.save(request);
+
+        verify(complaintRepository).save(argThat((Complaint saved) -> Long.valueOf(1L).equals(saved.getDuplicateOf())
+                && saved.getSimhash() == SimHash.of("Test complaint again")));
+    }
+
+    @Test
+    void testSaveComplaint_MergesDuplicate() {
+        ComplaintCreateRequest request = new ComplaintCreateRequest();
+        request.setProductId(100L);
+        request.setDescription("Test complaint again");
+        request.setDate(LocalDate.now());
+        request.setStatus(Status.OPEN);
+
+        when(duplicateDetector.findOriginal(1L, 100L, SimHash.of("Test complaint again"))).thenReturn(Optional.of(complaint));
+        when(duplicateDetector.merges()).thenReturn(true);
+        when(modelMapper.map(complaint, ComplaintResponse.class)).thenReturn(complaintResponse);
+
+        ComplaintResponse result = complaintService.save(request);
+
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(result.getDuplicateOf()).isEqualTo(1L);
+        verify(complaintRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testDeleteById() {
+        when(complaintRepository.updateStatusByIdAndCustomerId(1L, 1L, Status.CANCELED)).thenReturn(1);
+
+        complaintService.deleteById(1L);
+
+        verify(complaintRepository, times(1)).updateStatusByIdAndCustomerId(1L, 1L, Status.CANCELED);
+        verify(complaintRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(new ComplaintChangedEvent(1L));
     }
 
     @Test
     void testDeleteById_WithAccessDenied() {
-        Customer anotherCustomer = new Customer();
-        anotherCustomer.setId(2L);
-        complaint.setCustomer(anotherCustomer);
+        when(complaintRepository.updateStatusByIdAndCustomerId(1L, 1L, Status.CANCELED)).thenReturn(0);
+        when(complaintRepository.existsById(1L)).thenReturn(true);
 
-        when(complaintRepository.findById(1L)).thenReturn(Optional.of(complaint));
+        assertThatThrownBy(() -> complaintService.deleteById(1L))
+                .isInstanceOf(AccessDeniedException.class)
+                .hasMessageContaining("You do not have permission");
+
+        verify(complaintRepository, never()).save(any());
+    }
+
+    @Test
+    void testDeleteById_NotFound() {
+        when(complaintRepository.updateStatusByIdAndCustomerId(1L, 1L, Status.CANCELED)).thenReturn(0);
+        when(complaintRepository.existsById(1L)).thenReturn(false);
+
+        assertThatThrownBy(() -> complaintService.deleteById(1L))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("Complaint with id 1 not found");
+    }
+
+    @Test
+    void testDeleteById_Archived() {
+        when(complaintRepository.updateStatusByIdAndCustomerId(1L, 1L, Status.CANCELED)).thenReturn(0);
+        when(complaintRepository.existsById(1L)).thenReturn(false);
+        when(archivedComplaintRepository.existsById(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> complaintService.deleteById(1L))
+                .isInstanceOf(UnableToModifyException.class)
+                .hasMessageContaining("archived");
+    }
+
+    @Test
+    void testDeleteById_WithTokenForAnotherCustomer() {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .claim(TokenService.CUSTOMER_ID_CLAIM, 2L)
+                .build();
+        when(authentication.getPrincipal()).thenReturn(jwt);
+        when(complaintRepository.updateStatusByIdAndCustomerId(1L, 2L, Status.CANCELED)).thenReturn(0);
+        when(complaintRepository.existsById(1L)).thenReturn(true);
 
         assertThatThrownBy(() -> complaintService.deleteById(1L))
                 .isInstanceOf(AccessDeniedException.class)
                 .hasMessageContaining("You do not have permission");
 
-        verify(complaintRepository, times(1)).findById(1L);
+        verify(complaintRepository, times(1)).updateStatusByIdAndCustomerId(1L, 2L, Status.CANCELED);
+    }
+
+    @Test
+    void testUpdateComplaint() {
+        ComplaintUpdateRequest updateRequest = new ComplaintUpdateRequest();
+        updateRequest.setProductId(200L);
+        updateRequest.setDescription("Updated complaint");
+        updateRequest.setStatus(Status.IN_PROGRESS);
+
+        when(complaintRepository.findStatusByIdAndCustomerId(1L, 1L)).thenReturn(Optional.of(Status.OPEN));
+        when(complaintRepository.updateByIdAndCustomerId(eq(1L), eq(1L), anyCollection(), eq(200L), eq("Updated complaint"), eq(SimHash.of("Updated complaint")), eq(Status.IN_PROGRESS))).thenReturn(1);
+        when(complaintRepository.findById(1L)).thenReturn(Optional.of(complaint));
+        when(modelMapper.map(complaint, ComplaintResponse.class)).thenReturn(complaintResponse);
+
+        ComplaintResponse result = complaintService.update(1L, updateRequest);
+
+        assertThat(result.getId()).isEqualTo(1L);
         verify(complaintRepository, never()).save(any());
     }
 
+    @Test
+    void testUpdateComplaint_WithAccessDenied() {
+        ComplaintUpdateRequest updateRequest = new ComplaintUpdateRequest();
+        updateRequest.setStatus(Status.OPEN);
+
+        when(complaintRepository.findStatusByIdAndCustomerId(1L, 1L)).thenReturn(Optional.empty());
+        when(complaintRepository.existsById(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> complaintService.update(1L, updateRequest))
+                .isInstanceOf(AccessDeniedException.class)
+                .hasMessageContaining("You do not have permission");
+
+        verify(complaintRepository, never()).updateByIdAndCustomerId(any(), any(), any(), any(), any(), any(), any());
+    }
+
     @Test
     void testUpdateComplaint_WithInvalidStatus() {
         ComplaintUpdateRequest updateRequest = new ComplaintUpdateRequest();
         updateRequest.setStatus(Status.CANCELED);
 
-        complaint.setStatus(Status.CANCELED);
-
-        when(complaintRepository.findById(1L)).thenReturn(Optional.of(complaint));
+        when(complaintRepository.findStatusByIdAndCustomerId(1L, 1L)).thenReturn(Optional.of(Status.CANCELED));
 
         assertThatThrownBy(() -> complaintService.update(1L, updateRequest))
                 .isInstanceOf(UnableToModifyException.class)
                 .hasMessageContaining("Cannot update complaint");
 
-        verify(complaintRepository, times(1)).findById(1L);
+        verify(complaintRepository, times(1)).findStatusByIdAndCustomerId(1L, 1L);
     }
 
 }
@@ -0,0 +1,51 @@
+package com.complaints.service;
+
+import com.complaints.dto.response.TokenResponse;
+import com.complaints.security.UserDetailsImpl;
+import com.complaints.service.impl.TokenServiceImpl;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenServiceTest {
+
+    private TokenService tokenService;
+    private JwtDecoder jwtDecoder;
+    private UserDetailsImpl userDetails;
+
+    @BeforeEach
+    void setUp() {
+        SecretKey key = new SecretKeySpec("test-secret-key-with-at-least-256-bits".getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        tokenService = new TokenServiceImpl(new NimbusJwtEncoder(new ImmutableSecret<>(key)), Duration.ofMinutes(15));
+        jwtDecoder = NimbusJwtDecoder.withSecretKey(key).macAlgorithm(MacAlgorithm.HS256).build();
+
+        userDetails = new UserDetailsImpl(1L, "test@example.com", "password123");
+    }
+
+    @Test
+    void testIssue() {
+        TokenResponse tokenResponse = tokenService.issue(
+                UsernamePasswordAuthenticationToken.authenticated(userDetails, null, userDetails.getAuthorities()));
+
+        assertThat(tokenResponse.tokenType()).isEqualTo("Bearer");
+        assertThat(tokenResponse.expiresIn()).isEqualTo(900L);
+
+        Jwt jwt = jwtDecoder.decode(tokenResponse.accessToken());
+        assertThat(jwt.getSubject()).isEqualTo("test@example.com");
+        assertThat(jwt.<Long>getClaim(TokenService.CUSTOMER_ID_CLAIM)).isEqualTo(1L);
+    }
+
+}
@@ -1,10 +1,12 @@
 package com.complaints.service;
 
-import com.complaints.entity.Customer;
+import com.complaints.repository.CustomerCredentials;
 import com.complaints.repository.CustomerRepository;
+import com.complaints.security.UserDetailsImpl;
 import com.complaints.service.impl.UserDetailsServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -17,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
+@DisabledInNativeImage
 public class UserDetailsServiceTest {
 
     @Mock
@@ -25,21 +28,18 @@ public class UserDetailsServiceTest {
     @InjectMocks
     private UserDetailsServiceImpl userDetailsService;
 
-    private Customer customer;
+    private CustomerCredentials customer;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
-        customer = new Customer();
-        customer.setId(1L);
-        customer.setEmail("test@example.com");
-        customer.setPassword("password123");
+        customer = new CustomerCredentials(1L, "test@example.com", "password123");
     }
 
     @Test
     void testLoadUserByUsername_Success() {
-        when(customerRepository.findByEmail("test@example.com")).thenReturn(Optional.of(customer));
+        when(customerRepository.findCredentialsByEmail("test@example.com")).thenReturn(Optional.of(customer));
 
         UserDetails userDetails = userDetailsService.loadUserByUsername("test@example.com");
 
@@ -47,18 +47,28 @@ public class UserDetailsServiceTest {
         assertThat(userDetails.getUsername()).isEqualTo("test@example.com");
         assertThat(userDetails.getPassword()).isEqualTo("password123");
 
-        verify(customerRepository, times(1)).findByEmail("test@example.com");
+        verify(customerRepository, times(1)).findCredentialsByEmail("test@example.com");
     }
 
     @Test
     void testLoadUserByUsername_CustomerNotFound() {
-        when(customerRepository.findByEmail("notfound@example.com")).thenReturn(Optional.empty());
+        when(customerRepository.findCredentialsByEmail("notfound@example.com")).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> userDetailsService.loadUserByUsername("notfound@example.com"))
                 .isInstanceOf(UsernameNotFoundException.class)
                 .hasMessageContaining("Customer not found with email: notfound@example.com");
 
-        verify(customerRepository, times(1)).findByEmail("notfound@example.com");
+        verify(customerRepository, times(1)).findCredentialsByEmail("notfound@example.com");
+    }
+
+    @Test
+    void testUpdatePassword() {
+        UserDetails userDetails = new UserDetailsImpl(1L, "test@example.com", "{noop}password123");
+
+        UserDetails updated = userDetailsService.updatePassword(userDetails, "{bcrypt}hash");
+
+        assertThat(updated.getPassword()).isEqualTo("{bcrypt}hash");
+        verify(customerRepository, times(1)).updatePassword("test@example.com", "{bcrypt}hash");
     }
 
 }
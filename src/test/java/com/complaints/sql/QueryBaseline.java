@@ -0,0 +1,70 @@
+package com.complaints.sql;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement counts and p95 latencies per endpoint from {@code query-baseline.properties}. A measurement fails when
+ * it uses more statements than the baseline or its p95 exceeds the baseline by more than the tolerance factor.
+ * Latencies are only verified by the perfTest task, where nothing else runs alongside. Measurements are written to
+ * {@code build/reports/query-baseline.properties} so the file can be refreshed after an intended change.
+ */
+public class QueryBaseline {
+
+    private static final String RESOURCE = "/query-baseline.properties";
+    private static final Path REPORT = Path.of("build", "reports", "query-baseline.properties");
+    private static final double LATENCY_TOLERANCE = Double.parseDouble(System.getProperty("query.baseline.latency-tolerance", "2.0"));
+
+    private final Properties baseline = new Properties();
+    private final Properties measured = new Properties();
+
+    public QueryBaseline() {
+        try (InputStream in = QueryBaseline.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                baseline.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void verifyStatements(String endpoint, int statements) {
+        measured.setProperty(endpoint + ".statements", String.valueOf(statements));
+        writeReport();
+
+        String maxStatements = baseline.getProperty(endpoint + ".statements");
+        assertThat(maxStatements).as("baseline statement count of %s", endpoint).isNotNull();
+        assertThat(statements)
+                .as("statements per request of %s", endpoint)
+                .isLessThanOrEqualTo(Integer.parseInt(maxStatements));
+    }
+
+    public void verifyLatency(String endpoint, double p95Millis) {
+        measured.setProperty(endpoint + ".p95-ms", String.valueOf((long) Math.ceil(p95Millis)));
+        writeReport();
+
+        String maxP95 = baseline.getProperty(endpoint + ".p95-ms");
+        assertThat(maxP95).as("baseline p95 of %s", endpoint).isNotNull();
+        assertThat(p95Millis)
+                .as("p95 in ms of %s", endpoint)
+                .isLessThanOrEqualTo(Long.parseLong(maxP95) * LATENCY_TOLERANCE);
+    }
+
+    private void writeReport() {
+        try {
+            Files.createDirectories(REPORT.getParent());
+            try (Writer writer = Files.newBufferedWriter(REPORT)) {
+                measured.store(writer, "Measured by QueryBaseline");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
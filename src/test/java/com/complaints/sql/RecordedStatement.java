@@ -0,0 +1,4 @@
+package com.complaints.sql;
+
+public record RecordedStatement(String sql, long elapsedMillis) {
+}
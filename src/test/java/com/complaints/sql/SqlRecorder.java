@@ -0,0 +1,56 @@
+package com.complaints.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Collects every statement executed through the proxied data source, see {@link SqlRecordingConfiguration}.
+ */
+public class SqlRecorder implements QueryExecutionListener {
+
+    private final ConcurrentLinkedQueue<RecordedStatement> statements = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            statements.add(new RecordedStatement(queryInfo.getQuery(), execInfo.getElapsedTime()));
+        }
+    }
+
+    public void reset() {
+        statements.clear();
+    }
+
+    public List<RecordedStatement> statements() {
+        return List.copyOf(statements);
+    }
+
+    public int count() {
+        return statements.size();
+    }
+
+    public void assertAtMost(int maxStatements) {
+        assertThat(statements())
+                .as("statements executed, expected at most %d", maxStatements)
+                .hasSizeLessThanOrEqualTo(maxStatements);
+    }
+
+    public void assertNoneSlowerThan(Duration limit) {
+        assertThat(statements())
+                .as("statements slower than %d ms", limit.toMillis())
+                .allSatisfy(statement -> assertThat(statement.elapsedMillis())
+                        .as(statement.sql())
+                        .isLessThanOrEqualTo(limit.toMillis()));
+    }
+}
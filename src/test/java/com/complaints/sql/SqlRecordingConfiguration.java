@@ -0,0 +1,37 @@
+package com.complaints.sql;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's data source in a datasource-proxy that reports to a {@link SqlRecorder} bean.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class SqlRecordingConfiguration {
+
+    @Bean
+    static SqlRecorder sqlRecorder() {
+        return new SqlRecorder();
+    }
+
+    @Bean
+    static BeanPostProcessor sqlRecordingDataSourcePostProcessor(SqlRecorder sqlRecorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(sqlRecorder)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,207 @@
+package com.complaints.writebehind;
+
+import com.complaints.entity.enums.Status;
+import com.complaints.exception.UnableToModifyException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ComplaintUpdateBatcherTest {
+
+    @TempDir
+    Path directory;
+
+    private Path journalFile;
+    private Path deadLetterFile;
+    private List<List<PendingUpdate>> written;
+
+    @BeforeEach
+    void setUp() {
+        journalFile = directory.resolve("updates.journal");
+        deadLetterFile = directory.resolve("updates.dead");
+        written = new ArrayList<>();
+    }
+
+    @Test
+    void testUpdatesToSameComplaintAreMerged() throws Exception {
+        ComplaintUpdateBatcher batcher = batcher(new UpdateJournal(journalFile, new ObjectMapper()), written::add);
+
+        batcher.submit(1L, 10L, 100L, "First", Status.OPEN);
+        batcher.submit(2L, 20L, 200L, "Other", Status.OPEN);
+        batcher.submit(1L, 10L, 100L, "Second", Status.IN_PROGRESS);
+
+        assertThat(batcher.flush()).isEqualTo(2);
+        assertThat(written).hasSize(1);
+        assertThat(written.get(0)).extracting(PendingUpdate::description).containsExactly("Second", "Other");
+        assertThat(Files.size(journalFile)).isZero();
+        batcher.close();
+    }
+
+    @Test
+    void testUpdateAfterPendingTerminalUpdateIsRejected() throws Exception {
+        List<Throwable> rejectedWhileWriting = new ArrayList<>();
+        ComplaintUpdateBatcher[] self = new ComplaintUpdateBatcher[1];
+        ComplaintUpdateBatcher batcher = batcher(new UpdateJournal(journalFile, new ObjectMapper()), batch -> {
+            try {
+                self[0].submit(1L, 10L, 100L, "While writing", Status.OPEN);
+            } catch (UnableToModifyException e) {
+                rejectedWhileWriting.add(e);
+            }
+            written.add(batch);
+        });
+        self[0] = batcher;
+
+        batcher.submit(1L, 10L, 100L, "Accepted", Status.ACCEPTED);
+        assertThatThrownBy(() -> batcher.submit(1L, 10L, 100L, "Reopened", Status.OPEN))
+                .isInstanceOf(UnableToModifyException.class)
+                .hasMessageContaining("ACCEPTED");
+
+        assertThat(batcher.flush()).isEqualTo(1);
+        assertThat(rejectedWhileWriting).hasSize(1);
+        assertThat(written).hasSize(1);
+        assertThat(written.get(0)).extracting(PendingUpdate::description).containsExactly("Accepted");
+        assertThat(batcher.pendingCount()).isZero();
+        batcher.close();
+    }
+
+    @Test
+    void testUnflushedUpdatesAreReplayedAfterRestart() throws Exception {
+        UpdateJournal journal = new UpdateJournal(journalFile, new ObjectMapper());
+        ComplaintUpdateBatcher crashed = batcher(journal, written::add);
+        crashed.submit(1L, 10L, 100L, "First", Status.OPEN);
+        crashed.submit(1L, 10L, 100L, "Latest", Status.IN_PROGRESS);
+        journal.close();
+
+        ComplaintUpdateBatcher restarted = batcher(new UpdateJournal(journalFile, new ObjectMapper()), written::add);
+
+        assertThat(restarted.pendingCount()).isEqualTo(1);
+        restarted.flush();
+        assertThat(written.get(0)).extracting(PendingUpdate::description).containsExactly("Latest");
+        restarted.submit(2L, 20L, 200L, "After restart", Status.OPEN);
+        assertThat(restarted.flush()).isEqualTo(1);
+        restarted.close();
+    }
+
+    @Test
+    void testConcurrentSubmitsAreAllJournaled() throws Exception {
+        UpdateJournal journal = new UpdateJournal(journalFile, new ObjectMapper());
+        ComplaintUpdateBatcher crashed = batcher(journal, written::add);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> submits = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            long complaintId = id;
+            submits.add(executor.submit(() -> crashed.submit(complaintId, 10L, 100L, "Update " + complaintId, Status.OPEN)));
+        }
+        for (Future<?> submit : submits) {
+            submit.get();
+        }
+        executor.shutdown();
+        journal.close();
+
+        ComplaintUpdateBatcher restarted = batcher(new UpdateJournal(journalFile, new ObjectMapper()), written::add);
+
+        assertThat(restarted.pendingCount()).isEqualTo(200);
+        restarted.close();
+    }
+
+    @Test
+    void testFailedBatchIsRetriedWithoutOverwritingNewerUpdates() throws Exception {
+        List<Boolean> failNext = new ArrayList<>(List.of(true));
+        ComplaintUpdateBatcher[] holder = new ComplaintUpdateBatcher[1];
+        ComplaintUpdateBatcher batcher = batcher(new UpdateJournal(journalFile, new ObjectMapper()), updates -> {
+            if (!failNext.isEmpty() && failNext.remove(0)) {
+                holder[0].submit(1L, 10L, 100L, "Newer", Status.OPEN);
+                throw new IllegalStateException("database unavailable");
+            }
+            written.add(updates);
+        });
+        holder[0] = batcher;
+        batcher.submit(1L, 10L, 100L, "Older", Status.OPEN);
+        batcher.submit(2L, 20L, 200L, "Other", Status.OPEN);
+
+        assertThat(batcher.flush()).isEqualTo(1);
+        assertThat(batcher.flush()).isEqualTo(1);
+        assertThat(written).flatExtracting(updates -> updates).extracting(PendingUpdate::description).containsExactly("Other", "Newer");
+        assertThat(Files.size(journalFile)).isZero();
+        batcher.close();
+    }
+
+    @Test
+    void testFailingUpdateIsDeadLetteredWithoutBlockingOthers() throws Exception {
+        ComplaintUpdateBatcher batcher = batcher(new UpdateJournal(journalFile, new ObjectMapper()), updates -> {
+            if (updates.stream().anyMatch(update -> update.complaintId() == 1L)) {
+                throw new IllegalStateException("value too long");
+            }
+            written.add(updates);
+        });
+
+        for (int window = 1; window <= 3; window++) {
+            batcher.submit(2L, 20L, 200L, "Other " + window, Status.OPEN);
+            if (window == 1) {
+                batcher.submit(1L, 10L, 100L, "Poison", Status.OPEN);
+            }
+            assertThat(batcher.flush()).isEqualTo(1);
+        }
+
+        assertThat(written).flatExtracting(updates -> updates).extracting(PendingUpdate::description)
+                .containsExactly("Other 1", "Other 2", "Other 3");
+        assertThat(batcher.pendingCount()).isZero();
+        assertThat(Files.size(journalFile)).isZero();
+        batcher.close();
+        assertThat(new UpdateJournal(deadLetterFile, new ObjectMapper()).readAll())
+                .extracting(PendingUpdate::description).containsExactly("Poison");
+    }
+
+    @Test
+    void testUnavailableDatabaseDoesNotDeadLetterUpdates() throws Exception {
+        ComplaintUpdateBatcher batcher = batcher(new UpdateJournal(journalFile, new ObjectMapper()), updates -> {
+            throw new IllegalStateException("database unavailable");
+        });
+        batcher.submit(1L, 10L, 100L, "First", Status.OPEN);
+
+        for (int window = 0; window < 5; window++) {
+            assertThat(batcher.flush()).isZero();
+        }
+
+        assertThat(batcher.pendingCount()).isEqualTo(1);
+        assertThat(Files.size(deadLetterFile)).isZero();
+        batcher.close();
+    }
+
+    @Test
+    void testJournalIsCompactedToPendingUpdates() throws Exception {
+        ComplaintUpdateBatcher[] holder = new ComplaintUpdateBatcher[1];
+        ComplaintUpdateBatcher batcher = batcher(new UpdateJournal(journalFile, new ObjectMapper()), updates -> {
+            holder[0].submit(3L, 30L, 300L, "Submitted during flush", Status.OPEN);
+            written.add(updates);
+        });
+        holder[0] = batcher;
+        for (int i = 0; i < 100; i++) {
+            batcher.submit(1L, 10L, 100L, "Update " + i, Status.OPEN);
+        }
+
+        batcher.flush();
+
+        assertThat(new UpdateJournal(journalFile, new ObjectMapper()).readAll())
+                .extracting(PendingUpdate::description).containsExactly("Submitted during flush");
+        batcher.close();
+    }
+
+    private ComplaintUpdateBatcher batcher(UpdateJournal journal, Consumer<List<PendingUpdate>> writer) {
+        return new ComplaintUpdateBatcher(journal, new UpdateJournal(deadLetterFile, new ObjectMapper()), writer, 2);
+    }
+
+}